@@ -0,0 +1,67 @@
+package com.example.maze;
+
+// A* over cell indices with int g-scores, an indexed heap with decrease-key and
+// scratch arrays reused between solves. After reset() the search advances one
+// expansion per step(), so callers can run it to completion or animate it.
+//
+// Heap keys are (f << 32) | h: lowest f first, ties broken towards the goal,
+// which keeps the search from fanning out across equal-f plateaus.
+//
+// With Landmarks the heuristic is the larger of Manhattan distance and the ALT
+// bound; both are admissible, so paths stay shortest.
+public class AStarSearch extends GridSearch {
+    private final Landmarks landmarks;
+    private int goalRow, goalCol;
+    private int[] landmarksToGoal;
+
+    public AStarSearch(Maze maze) {
+        this(maze, new SearchScratch());
+    }
+
+    public AStarSearch(Maze maze, SearchScratch scratch) {
+        this(maze, scratch, null);
+    }
+
+    public AStarSearch(Maze maze, SearchScratch scratch, Landmarks landmarks) {
+        super(maze, scratch);
+        this.landmarks = landmarks;
+    }
+
+    @Override
+    protected void onReset() {
+        goalRow = maze.rowOf(goal);
+        goalCol = maze.colOf(goal);
+        if (landmarks != null) landmarksToGoal = landmarks.toGoal(goal);
+    }
+
+    @Override
+    protected void push(int cell, int g) {
+        scratch.heap.push(cell, key(g, heuristic(cell)));
+    }
+
+    @Override
+    protected int pop() {
+        return scratch.heap.isEmpty() ? -1 : scratch.heap.pop();
+    }
+
+    @Override
+    protected boolean improve(int cell, int g) {
+        scratch.heap.decreaseKey(cell, key(g, heuristic(cell)));
+        return true;
+    }
+
+    @Override
+    protected int frontierSize() {
+        return scratch.heap.size();
+    }
+
+    private int heuristic(int cell) {
+        int h = Math.abs(maze.rowOf(cell) - goalRow) + Math.abs(maze.colOf(cell) - goalCol);
+        if (landmarks == null) return h;
+        return Math.max(h, landmarks.lowerBound(cell, landmarksToGoal));
+    }
+
+    private static long key(int g, int h) {
+        return ((long) (g + h) << 32) | h;
+    }
+}
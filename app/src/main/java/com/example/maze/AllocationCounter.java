@@ -0,0 +1,69 @@
+package com.example.maze;
+
+import java.lang.reflect.Method;
+
+// Heap allocation readings from HotSpot's com.sun.management.ThreadMXBean.
+// Android has no java.lang.management at all, so the bean is looked up
+// reflectively once and every reading is UNKNOWN where it is missing.
+final class AllocationCounter {
+    static final long UNKNOWN = -1;
+
+    private static final Object threadBean;
+    private static final Method allocatedBytesOf;     // getThreadAllocatedBytes(long)
+    private static final Method allocatedBytesOfAll;  // getThreadAllocatedBytes(long[])
+    private static final Method allThreadIds;
+
+    static {
+        Object bean = null;
+        Method one = null, all = null, ids = null;
+        try {
+            Class<?> factory = Class.forName("java.lang.management.ManagementFactory");
+            bean = factory.getMethod("getThreadMXBean").invoke(null);
+            Class<?> hotspot = Class.forName("com.sun.management.ThreadMXBean");
+            one = hotspot.getMethod("getThreadAllocatedBytes", long.class);
+            all = hotspot.getMethod("getThreadAllocatedBytes", long[].class);
+            ids = Class.forName("java.lang.management.ThreadMXBean").getMethod("getAllThreadIds");
+            if ((Long) one.invoke(bean, Thread.currentThread().getId()) < 0) one = null;
+        } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+            one = null;
+        }
+        threadBean = bean;
+        allocatedBytesOf = one;
+        allocatedBytesOfAll = one == null ? null : all;
+        allThreadIds = one == null ? null : ids;
+    }
+
+    private AllocationCounter() {
+    }
+
+    static boolean tracks() {
+        return allocatedBytesOf != null;
+    }
+
+    // Bytes allocated so far by the calling thread
+    static long threadBytes() {
+        if (allocatedBytesOf == null) return UNKNOWN;
+        try {
+            return (Long) allocatedBytesOf.invoke(threadBean, Thread.currentThread().getId());
+        } catch (ReflectiveOperationException e) {
+            return UNKNOWN;
+        }
+    }
+
+    // Bytes allocated so far by every live thread, so work forked onto pool
+    // workers is counted too. It also counts whatever else the process does in
+    // the meantime, and loses threads that exit between two readings.
+    static long allThreadsBytes() {
+        if (allocatedBytesOfAll == null) return UNKNOWN;
+        try {
+            long[] perThread = (long[]) allocatedBytesOfAll.invoke(threadBean, (Object) allThreadIds.invoke(threadBean));
+            long total = 0;
+            for (long bytes : perThread) {
+                if (bytes > 0) total += bytes;  // -1 for threads that already exited
+            }
+            return total;
+        } catch (ReflectiveOperationException e) {
+            return UNKNOWN;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.maze;
+
+// Default on-heap store: one byte per cell
+public class ArrayWallStore implements WallStore {
+    private final byte[] walls;
+
+    public ArrayWallStore(int cells) {
+        walls = new byte[cells];
+    }
+
+    @Override
+    public int get(int index) {
+        return walls[index];
+    }
+
+    @Override
+    public void set(int index, int bits) {
+        walls[index] = (byte) bits;
+    }
+
+    @Override
+    public int size() {
+        return walls.length;
+    }
+
+    @Override
+    public void flush() {
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.maze;
+
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+// Solves many (maze, start, goal, algorithm) jobs on a ForkJoinPool for offline
+// level validation. Each worker thread keeps one SearchScratch and reuses it for
+// every job it runs, so scratch memory is one set of arrays per thread, sized to
+// the largest maze that thread has seen.
+//
+// Results stream back in completion order. At most `maxInFlight` jobs are running
+// or waiting to be consumed at once, and more are only pulled from the input as
+// results are taken, so memory stays bounded however long the job list is.
+public class BatchSolver implements AutoCloseable {
+
+    public static final class Job {
+        public final Maze maze;
+        public final int start, goal;
+        public final SolverAlgorithm algorithm;
+
+        public Job(Maze maze, int start, int goal, SolverAlgorithm algorithm) {
+            this.maze = maze;
+            this.start = start;
+            this.goal = goal;
+            this.algorithm = algorithm;
+        }
+    }
+
+    public static final class Result {
+        public final Job job;
+        public final int[] path;        // null unless the solver keeps paths
+        public final SolverStats stats;
+
+        Result(Job job, int[] path, SolverStats stats) {
+            this.job = job;
+            this.path = path;
+            this.stats = stats;
+        }
+    }
+
+    private final ForkJoinPool pool;
+    private final int maxInFlight;
+    private final boolean keepPaths;
+    private final ThreadLocal<SearchScratch> scratch = ThreadLocal.withInitial(SearchScratch::new);
+
+    // One worker per core, a few jobs queued per worker, paths kept
+    public BatchSolver() {
+        this(Runtime.getRuntime().availableProcessors(), 4 * Runtime.getRuntime().availableProcessors(), true);
+    }
+
+    public BatchSolver(int parallelism, int maxInFlight, boolean keepPaths) {
+        if (parallelism < 1 || maxInFlight < 1) throw new IllegalArgumentException("Parallelism and window must be positive");
+        pool = new ForkJoinPool(parallelism);
+        this.maxInFlight = maxInFlight;
+        this.keepPaths = keepPaths;
+    }
+
+    // Lazily submits `jobs` and yields each result as soon as it is done. The stream
+    // is sequential; a failed job surfaces as a CompletionException when reached.
+    public Stream<Result> solve(Iterable<Job> jobs) {
+        Iterator<Job> input = jobs.iterator();
+        BlockingQueue<Object> done = new LinkedBlockingQueue<>();
+
+        Spliterator<Result> results = new Spliterators.AbstractSpliterator<Result>(Long.MAX_VALUE, Spliterator.NONNULL) {
+            private int inFlight;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super Result> action) {
+                while (inFlight < maxInFlight && input.hasNext()) {
+                    Job job = input.next();
+                    inFlight++;
+                    pool.execute(() -> {
+                        try {
+                            done.add(run(job));
+                        } catch (Throwable t) {
+                            done.add(t);
+                        }
+                    });
+                }
+                if (inFlight == 0) return false;
+
+                Object next;
+                try {
+                    next = done.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new CompletionException(e);
+                }
+                inFlight--;
+                if (next instanceof Throwable) throw new CompletionException((Throwable) next);
+                action.accept((Result) next);
+                return true;
+            }
+        };
+        return StreamSupport.stream(results, false);
+    }
+
+    private Result run(Job job) {
+        SolverResult solved = SolverResult.run(job.algorithm, job.maze, scratch.get(), job.start, job.goal);
+        return new Result(job, keepPaths ? solved.path : null, solved.stats);
+    }
+
+    // Stops the workers; jobs already submitted still finish
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+}
@@ -0,0 +1,212 @@
+package com.example.maze;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Bidirectional breadth-first search: a forward BFS from the start on the calling
+// thread and a backward BFS from the goal on the executor, both running at once.
+//
+// Each side keeps its own distances and parents. The sides meet through one
+// shared AtomicIntegerArray: a side ORs its bit into a cell's entry when it first
+// reaches it, and if the other side's bit was already there, that cell is a
+// meeting point whose route length is the sum of both distances. The side that
+// sets its bit writes the distance first, so the other side can read it once it
+// sees the bit. Entries carry a stamp in their upper bits, so nothing is cleared
+// between solves.
+//
+// Stopping rule: once a side has expanded every cell at distance < r, every cell
+// within r of its origin has been reached. Every route no longer than the sum of
+// both radii therefore passes through a cell reached from both sides, and has
+// already been offered as a meeting. So the search stops as soon as the best
+// meeting is no longer than that sum, and the result is a shortest path even
+// when loops give several routes.
+public class BidirectionalSearch implements SearchCounters {
+    private static final int FORWARD = 1, BACKWARD = 2;
+    private static final long NONE = Long.MAX_VALUE;
+
+    private final Maze maze;
+    private final ExecutorService executor;
+    private final SearchScratch forward = new SearchScratch();
+    private final SearchScratch backward = new SearchScratch();
+
+    private AtomicIntegerArray marks = new AtomicIntegerArray(0);
+    private int stamp;
+
+    // Shared between the two sides during a solve
+    private final AtomicLong best = new AtomicLong(NONE);  // (length << 32) | meeting cell
+    private volatile int forwardRadius, backwardRadius;
+    private volatile boolean stop;
+    private int forwardExpanded, backwardExpanded;
+    private int forwardGenerated, backwardGenerated;
+    private int forwardPeak, backwardPeak;
+
+    public BidirectionalSearch(Maze maze) {
+        this(maze, ForkJoinPool.commonPool());
+    }
+
+    public BidirectionalSearch(Maze maze, ExecutorService executor) {
+        this.maze = maze;
+        this.executor = executor;
+    }
+
+    // Shortest path from start to goal as cell indices, or an empty array when there is none
+    public synchronized int[] solve(int start, int goal) {
+        forwardExpanded = backwardExpanded = 0;
+        forwardGenerated = 1;
+        backwardGenerated = 0;
+        forwardPeak = 1;
+        backwardPeak = 0;
+        if (start == goal) return new int[]{start};
+        prepare(start, goal);
+
+        Future<?> backwardTask = executor.submit(() -> expand(backward, forward, goal, BACKWARD));
+        try {
+            expand(forward, backward, start, FORWARD);
+        } finally {
+            stop = true;
+        }
+        try {
+            backwardTask.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the backward search", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Backward search failed", e.getCause());
+        }
+
+        long meeting = best.get();
+        if (meeting == NONE) return new int[0];
+        return joinPath(start, (int) meeting);
+    }
+
+    // Counters are the two sides added up; the peak is the sum of each side's largest queue
+    @Override
+    public int expandedCount() {
+        return forwardExpanded + backwardExpanded;
+    }
+
+    @Override
+    public int generatedCount() {
+        return forwardGenerated + backwardGenerated;
+    }
+
+    @Override
+    public int pushCount() {
+        return generatedCount();  // every cell is queued once, when first reached
+    }
+
+    @Override
+    public int popCount() {
+        return expandedCount();
+    }
+
+    @Override
+    public int peakOpenCount() {
+        return forwardPeak + backwardPeak;
+    }
+
+    private void prepare(int start, int goal) {
+        int cells = maze.cellCount();
+        if (marks.length() < cells) {
+            marks = new AtomicIntegerArray(cells);
+            stamp = 0;
+        } else if (++stamp >= 1 << 29) {
+            marks = new AtomicIntegerArray(cells);
+            stamp = 0;
+        }
+        best.set(NONE);
+        forwardRadius = 0;
+        backwardRadius = 0;
+        stop = false;
+
+        // Both origins are marked before either side starts, so a side that runs
+        // alone still meets the other at its origin
+        forward.begin(cells);
+        backward.begin(cells);
+        forward.open(start, 0, -1);
+        backward.open(goal, 0, -1);
+        mark(start, FORWARD);
+        mark(goal, BACKWARD);
+    }
+
+    private void expand(SearchScratch own, SearchScratch other, int origin, int side) {
+        int[] queue = own.queue(maze.cellCount());
+        int head = 0, tail = 0;
+        queue[tail++] = origin;
+        int levelEnd = tail;
+        int radius = 0;
+        int expanded = 0;
+        int peak = 1;
+
+        while (head < tail && !stop) {
+            int current = queue[head++];
+            own.close(current);
+            expanded++;
+
+            int nextG = own.g[current] + 1;
+            int count = maze.openNeighbors(current, own.neighbors);
+            for (int i = 0; i < count; i++) {
+                int next = own.neighbors[i];
+                if (own.isSeen(next)) continue;
+                own.open(next, nextG, current);
+                queue[tail++] = next;
+                if (mark(next, side) != 0) offer(nextG + other.g[next], next);
+            }
+            peak = Math.max(peak, tail - head);
+
+            if (head == levelEnd) {
+                radius++;
+                if (side == FORWARD) forwardRadius = radius;
+                else backwardRadius = radius;
+                levelEnd = tail;
+                if ((best.get() >>> 32) <= (long) forwardRadius + backwardRadius) stop = true;
+            }
+        }
+        // A side that ran out of cells has reached everything, including the other origin
+        if (head == tail) stop = true;
+
+        if (side == FORWARD) {
+            forwardExpanded = expanded;
+            forwardGenerated = tail;
+            forwardPeak = peak;
+        } else {
+            backwardExpanded = expanded;
+            backwardGenerated = tail;
+            backwardPeak = peak;
+        }
+    }
+
+    // Sets this side's bit on `cell` and returns the bits other sides had already set
+    private int mark(int cell, int side) {
+        int tag = stamp << 2;
+        while (true) {
+            int value = marks.get(cell);
+            int bits = (value & ~3) == tag ? value & 3 : 0;
+            if (marks.compareAndSet(cell, value, tag | bits | side)) return bits & ~side;
+        }
+    }
+
+    private void offer(int length, int cell) {
+        long candidate = ((long) length << 32) | cell;
+        long current;
+        while (candidate < (current = best.get())) {
+            if (best.compareAndSet(current, candidate)) return;
+        }
+    }
+
+    private int[] joinPath(int start, int meeting) {
+        int head = forward.g[meeting];
+        int[] path = new int[head + backward.g[meeting] + 1];
+        System.arraycopy(forward.path(start, meeting, head), 0, path, 0, head + 1);
+        int cell = meeting;
+        for (int i = head + 1; i < path.length; i++) {
+            cell = backward.parent[cell];
+            path[i] = cell;
+        }
+        return path;
+    }
+}
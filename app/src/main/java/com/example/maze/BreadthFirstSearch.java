@@ -0,0 +1,39 @@
+package com.example.maze;
+
+// Breadth-first search with a plain FIFO of cell indices. Every move costs the
+// same, so the first time a cell is reached is along a shortest path.
+public class BreadthFirstSearch extends GridSearch {
+    private int[] queue;
+    private int head, tail;
+
+    public BreadthFirstSearch(Maze maze) {
+        this(maze, new SearchScratch());
+    }
+
+    public BreadthFirstSearch(Maze maze, SearchScratch scratch) {
+        super(maze, scratch);
+    }
+
+    @Override
+    protected void onReset() {
+        queue = scratch.queue(maze.cellCount());
+        head = 0;
+        tail = 0;
+    }
+
+    // Each cell is queued at most once, so the queue never wraps
+    @Override
+    protected void push(int cell, int g) {
+        queue[tail++] = cell;
+    }
+
+    @Override
+    protected int pop() {
+        return head < tail ? queue[head++] : -1;
+    }
+
+    @Override
+    protected int frontierSize() {
+        return tail - head;
+    }
+}
@@ -1,17 +1,35 @@
 package com.example.maze;
 
-import java.util.EnumMap;
-
+// Lightweight view of one maze position. Walls live in Maze's packed store,
+// so cells are created on demand and compared by position, not identity.
 public class Cell {
-    public int row, col;
-    public boolean visited = false;
-    public EnumMap<Direction, Boolean> walls = new EnumMap<>(Direction.class);
+    public final int row, col;
+    private final Maze maze;
 
-    public Cell(int row, int col) {
+    public Cell(Maze maze, int row, int col) {
+        this.maze = maze;
         this.row = row;
         this.col = col;
-        for (Direction dir : Direction.values()) {
-            walls.put(dir, true);
-        }
+    }
+
+    public boolean hasWall(Direction dir) {
+        return maze.hasWall(row, col, dir);
+    }
+
+    public int index() {
+        return maze.index(row, col);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Cell)) return false;
+        Cell other = (Cell) o;
+        return row == other.row && col == other.col && maze == other.maze;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * row + col;
     }
 }
@@ -0,0 +1,265 @@
+package com.example.maze;
+
+import java.util.Arrays;
+
+// Contracted view of a maze for solving. Cells with exactly two openings are
+// corridor cells; every other cell (junction, dead end, the odd isolated cell)
+// is a node. Each maximal corridor between two nodes becomes one weighted edge,
+// so A* pushes one heap entry per junction instead of one per cell, and dead
+// ends are skipped outright since no route passes through them.
+//
+// Edges are stored CSR-style: the edges of node n are edgeStart[n] until
+// edgeStart[n + 1]. Each edge keeps the first cell stepped into, which is all
+// that is needed to walk the corridor again when expanding a path back to cells.
+// A start or goal in the middle of a corridor is joined to the graph at query
+// time through virtual edges to the two ends of its corridor.
+public class CorridorGraph implements SearchCounters {
+    private final Maze maze;
+    private final int[] nodeOf;      // node id per cell, -1 for corridor cells
+    private final int[] nodeCell;    // cell of each node
+    private final int[] edgeStart;
+    private final int[] edgeTarget;
+    private final int[] edgeWeight;
+    private final int[] edgeStep;    // first cell after the source node
+
+    // Query scratch, sized for the real nodes plus the virtual goal and start
+    private final SearchScratch scratch = new SearchScratch();
+    private final int[] parentStep;
+    private final int[] neighbors = new int[4];
+    private final int[] buffer = new int[4];
+    private int heapOperations;
+    private int generated, pushes, pops, peakOpen;
+
+    private CorridorGraph(Maze maze, int[] nodeOf, int[] nodeCell, int[] edgeStart,
+                          int[] edgeTarget, int[] edgeWeight, int[] edgeStep) {
+        this.maze = maze;
+        this.nodeOf = nodeOf;
+        this.nodeCell = nodeCell;
+        this.edgeStart = edgeStart;
+        this.edgeTarget = edgeTarget;
+        this.edgeWeight = edgeWeight;
+        this.edgeStep = edgeStep;
+        parentStep = new int[nodeCell.length + 2];
+    }
+
+    public static CorridorGraph build(Maze maze) {
+        int cells = maze.cellCount();
+        HeapBudget.require(cells, 4, "Corridor graph");  // nodeOf, plus the much smaller node arrays
+        int[] out = new int[4];
+        int[] nodeOf = new int[cells];
+        int nodes = 0, edges = 0;
+        for (int cell = 0; cell < cells; cell++) {
+            int degree = maze.openNeighbors(cell, out);
+            if (degree == 2) {
+                nodeOf[cell] = -1;
+            } else {
+                nodeOf[cell] = nodes++;
+                edges += degree;
+            }
+        }
+
+        int[] nodeCell = new int[nodes];
+        int[] edgeStart = new int[nodes + 1];
+        int[] edgeTarget = new int[edges];
+        int[] edgeWeight = new int[edges];
+        int[] edgeStep = new int[edges];
+        int[] walk = new int[2];
+        int[] buffer = new int[4];
+        int e = 0;
+        for (int cell = 0; cell < cells; cell++) {
+            int node = nodeOf[cell];
+            if (node < 0) continue;
+            nodeCell[node] = cell;
+            edgeStart[node] = e;
+            int degree = maze.openNeighbors(cell, out);
+            for (int i = 0; i < degree; i++) {
+                walkCorridor(maze, nodeOf, cell, out[i], -1, buffer, walk);
+                edgeTarget[e] = nodeOf[walk[0]];
+                edgeWeight[e] = walk[1];
+                edgeStep[e] = out[i];
+                e++;
+            }
+        }
+        edgeStart[nodes] = e;
+        return new CorridorGraph(maze, nodeOf, nodeCell, edgeStart, edgeTarget, edgeWeight, edgeStep);
+    }
+
+    // Follows a corridor from `from` through `step` until a node cell or `stop`.
+    // Writes the cell it stopped at and the number of moves into result[0..1].
+    // Returns the cell just before the stopping cell.
+    private static int walkCorridor(Maze maze, int[] nodeOf, int from, int step, int stop,
+                                    int[] out, int[] result) {
+        int prev = from, cell = step, length = 1;
+        while (nodeOf[cell] < 0 && cell != stop) {
+            maze.openNeighbors(cell, out);
+            int next = out[0] == prev ? out[1] : out[0];
+            prev = cell;
+            cell = next;
+            length++;
+            if (cell == from) break;  // a closed loop of corridor cells
+        }
+        result[0] = cell;
+        result[1] = length;
+        return prev;
+    }
+
+    public int nodeCount() {
+        return nodeCell.length;
+    }
+
+    public int edgeCount() {
+        return edgeTarget.length;
+    }
+
+    // Heap pushes, decrease-keys and pops made by the last solve()
+    public int heapOperations() {
+        return heapOperations;
+    }
+
+    // Counters of the last solve() count graph nodes, not cells; expanded equals pops
+    @Override
+    public int expandedCount() {
+        return pops;
+    }
+
+    @Override
+    public int generatedCount() {
+        return generated;
+    }
+
+    @Override
+    public int pushCount() {
+        return pushes;
+    }
+
+    @Override
+    public int popCount() {
+        return pops;
+    }
+
+    @Override
+    public int peakOpenCount() {
+        return peakOpen;
+    }
+
+    // Shortest path from start to goal as cell indices, or an empty array when there is none
+    public int[] solve(int start, int goal) {
+        heapOperations = 0;
+        generated = 1;
+        pushes = pops = peakOpen = 0;
+        if (start == goal) return new int[]{start};
+
+        int nodes = nodeCell.length;
+        int goalId = nodeOf[goal] >= 0 ? nodeOf[goal] : nodes;
+        int startId = nodeOf[start] >= 0 ? nodeOf[start] : nodes + 1;
+        SearchScratch s = scratch;
+        s.begin(nodes + 2);
+        IndexedMinHeap heap = s.heap;
+
+        // A goal inside a corridor is reached from either end of that corridor
+        int[] goalEnds = {-1, -1}, goalEndDistance = new int[2], goalEndStep = new int[2];
+        int[] walk = new int[2];
+        if (goalId == nodes) {
+            int degree = maze.openNeighbors(goal, neighbors);
+            for (int i = 0; i < degree; i++) {
+                int before = walkCorridor(maze, nodeOf, goal, neighbors[i], start, buffer, walk);
+                if (walk[0] == start && startId == nodes + 1) continue;  // the start's own walk covers it
+                goalEnds[i] = nodeOf[walk[0]];
+                goalEndDistance[i] = walk[1];
+                goalEndStep[i] = before;
+            }
+        }
+
+        s.open(startId, 0, -1);
+        if (startId == nodes + 1) {
+            // Join a corridor start to both ends of its corridor, or straight to the goal
+            int degree = maze.openNeighbors(start, neighbors);
+            for (int i = 0; i < degree; i++) {
+                int first = neighbors[i];
+                walkCorridor(maze, nodeOf, start, first, goal, buffer, walk);
+                int target = walk[0] == goal ? goalId : nodeOf[walk[0]];
+                if (target < 0) continue;  // corridor closes on itself without reaching a node
+                relax(startId, target, walk[1], first, goal);
+            }
+        } else {
+            heap.push(startId, 0);
+            heapOperations++;
+            pushes++;
+        }
+
+        while (!heap.isEmpty()) {
+            peakOpen = Math.max(peakOpen, heap.size());
+            int node = heap.pop();
+            heapOperations++;
+            pops++;
+            s.close(node);
+            if (node == goalId) break;
+
+            int g = s.g[node];
+            for (int e = edgeStart[node]; e < edgeStart[node + 1]; e++) {
+                relax(node, edgeTarget[e], g + edgeWeight[e], edgeStep[e], goal);
+            }
+            for (int i = 0; i < 2; i++) {
+                if (goalEnds[i] == node) relax(node, goalId, g + goalEndDistance[i], goalEndStep[i], goal);
+            }
+        }
+
+        if (!s.isClosed(goalId)) return new int[0];
+        return expand(start, startId, goalId);
+    }
+
+    private void relax(int from, int to, int g, int step, int goal) {
+        SearchScratch s = scratch;
+        if (s.isClosed(to)) return;
+        // A dead end other than the goal leads nowhere, so it never needs a heap entry
+        if (to < nodeCell.length && edgeStart[to + 1] - edgeStart[to] == 1 && nodeCell[to] != goal) return;
+        boolean seen = s.isSeen(to);
+        if (seen && g >= s.g[to]) return;
+        s.open(to, g, from);
+        parentStep[to] = step;
+        int h = manhattan(to, goal);
+        long key = ((long) (g + h) << 32) | h;
+        if (seen) {
+            s.heap.decreaseKey(to, key);
+        } else {
+            s.heap.push(to, key);
+            generated++;
+            pushes++;
+        }
+        heapOperations++;
+    }
+
+    private int manhattan(int node, int goal) {
+        int cell = node < nodeCell.length ? nodeCell[node] : goal;
+        return Math.abs(maze.rowOf(cell) - maze.rowOf(goal)) + Math.abs(maze.colOf(cell) - maze.colOf(goal));
+    }
+
+    // Walks the chain of contracted edges forward again, cell by cell
+    private int[] expand(int start, int startId, int goalId) {
+        SearchScratch s = scratch;
+        int hops = 0;
+        for (int node = goalId; node != startId; node = s.parent[node]) hops++;
+        int[] chain = new int[hops];
+        for (int node = goalId, i = hops - 1; node != startId; node = s.parent[node], i--) chain[i] = node;
+
+        int[] path = new int[s.g[goalId] + 1];
+        path[0] = start;
+        int n = 1;
+        int[] out = buffer;
+        int from = start;
+        for (int node : chain) {
+            int length = s.g[node] - s.g[s.parent[node]];
+            int prev = from, cell = parentStep[node];
+            path[n++] = cell;
+            for (int i = 1; i < length; i++) {
+                maze.openNeighbors(cell, out);
+                int next = out[0] == prev ? out[1] : out[0];
+                prev = cell;
+                cell = next;
+                path[n++] = cell;
+            }
+            from = cell;
+        }
+        return n == path.length ? path : Arrays.copyOf(path, n);
+    }
+}
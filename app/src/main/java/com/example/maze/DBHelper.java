@@ -6,6 +6,8 @@ import android.database.Cursor;
 import android.database.sqlite.SQLiteDatabase;
 import android.database.sqlite.SQLiteOpenHelper;
 
+import java.io.IOException;
+
 public class DBHelper extends SQLiteOpenHelper {
     public static final String DB_NAME = "MazeGame.db";
     public static final int DB_VERSION = 3;
@@ -25,8 +27,8 @@ public class DBHelper extends SQLiteOpenHelper {
                 "is_completed INTEGER DEFAULT 0, " +
                 "FOREIGN KEY(user_id) REFERENCES users(id))");
 
-        // Maze table
-        db.execSQL("CREATE TABLE maze_table (id INTEGER PRIMARY KEY AUTOINCREMENT, level INTEGER, maze TEXT, path TEXT)");
+        // Maze table, `maze` holds a MazeCodec blob, `path` a packed Path
+        db.execSQL("CREATE TABLE maze_table (id INTEGER PRIMARY KEY AUTOINCREMENT, level INTEGER, maze BLOB, path BLOB)");
 
         // Users table
         db.execSQL("CREATE TABLE users (" +
@@ -181,15 +183,50 @@ public class DBHelper extends SQLiteOpenHelper {
         return getMaxUnlockedLevel(defaultUserId);
     }
 
-    public long insertMaze(int level, String maze, String path) {
+    // Mazes are stored in MazeCodec's compressed binary form and paths as Path's packed
+    // moves. Databases created before the columns were declared BLOB still accept them,
+    // since SQLite stores blobs as-is whatever the declared type.
+    public long insertMaze(int level, Maze maze, Path path) {
         SQLiteDatabase db = this.getWritableDatabase();
         ContentValues values = new ContentValues();
         values.put("level", level);
-        values.put("maze", maze);
-        values.put("path", path);
+        values.put("maze", MazeCodec.toBytes(maze, true));
+        values.put("path", path == null ? null : path.toBytes());
         return db.insert("maze_table", null, values);
     }
 
+    // Returns null if there is no such row, it has no path, or the stored path is not a packed one
+    public Path getPath(long id) {
+        SQLiteDatabase db = this.getReadableDatabase();
+        Cursor cursor = db.rawQuery("SELECT path FROM maze_table WHERE id = ?", new String[]{String.valueOf(id)});
+        Path path = null;
+        if (cursor.moveToFirst() && !cursor.isNull(0)) {
+            try {
+                path = Path.fromBytes(cursor.getBlob(0));
+            } catch (IllegalArgumentException e) {
+                path = null;
+            }
+        }
+        cursor.close();
+        return path;
+    }
+
+    // Returns null if there is no such row or the stored blob is not a valid maze
+    public Maze getMaze(long id) {
+        SQLiteDatabase db = this.getReadableDatabase();
+        Cursor cursor = db.rawQuery("SELECT maze FROM maze_table WHERE id = ?", new String[]{String.valueOf(id)});
+        Maze maze = null;
+        if (cursor.moveToFirst() && !cursor.isNull(0)) {
+            try {
+                maze = MazeCodec.fromBytes(cursor.getBlob(0));
+            } catch (IOException e) {
+                maze = null;
+            }
+        }
+        cursor.close();
+        return maze;
+    }
+
     public void resetProgressForUser(int userId) {
         SQLiteDatabase db = this.getWritableDatabase();
         // Reset all levels for this user
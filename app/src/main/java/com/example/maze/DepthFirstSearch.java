@@ -0,0 +1,38 @@
+package com.example.maze;
+
+// Depth-first search with an explicit stack of cell indices: follows one
+// corridor to its end before backtracking. Finds a path, not the shortest one.
+public class DepthFirstSearch extends GridSearch {
+    private int[] stack;
+    private int size;
+
+    public DepthFirstSearch(Maze maze) {
+        this(maze, new SearchScratch());
+    }
+
+    public DepthFirstSearch(Maze maze, SearchScratch scratch) {
+        super(maze, scratch);
+    }
+
+    @Override
+    protected void onReset() {
+        stack = scratch.queue(maze.cellCount());
+        size = 0;
+    }
+
+    // Cells are marked when pushed, so each is pushed at most once
+    @Override
+    protected void push(int cell, int g) {
+        stack[size++] = cell;
+    }
+
+    @Override
+    protected int pop() {
+        return size > 0 ? stack[--size] : -1;
+    }
+
+    @Override
+    protected int frontierSize() {
+        return size;
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.maze;
+
+import java.util.SplittableRandom;
+
+// Iterative depth-first backtracker: long winding corridors, few junctions
+public class DfsGenerator implements TileGenerator {
+
+    // Works on tile-local indices (lr * width + lc) so scratch arrays are sized to the tile
+    @Override
+    public void generate(Maze maze, int top, int left, int height, int width, SplittableRandom rand) {
+        int cols = maze.cols;
+        int base = top * cols + left;
+        int cells = height * width;
+        boolean[] visited = new boolean[cells];
+        int[] stack = new int[cells];
+        int[] neighbors = new int[4];
+        int sp = 0;
+        visited[0] = true;
+        stack[sp++] = 0;
+
+        while (sp > 0) {
+            int current = stack[sp - 1];
+            int r = current / width, c = current % width;
+            int count = 0;
+
+            if (r > 0 && !visited[current - width]) neighbors[count++] = current - width;
+            if (r < height - 1 && !visited[current + width]) neighbors[count++] = current + width;
+            if (c > 0 && !visited[current - 1]) neighbors[count++] = current - 1;
+            if (c < width - 1 && !visited[current + 1]) neighbors[count++] = current + 1;
+
+            if (count > 0) {
+                int next = neighbors[rand.nextInt(count)];
+                maze.carveWalls(base + r * cols + c, base + (next / width) * cols + next % width);
+                visited[next] = true;
+                stack[sp++] = next;
+            } else {
+                sp--;
+            }
+        }
+    }
+
+    @Override
+    public long scratchBytes(int rows, int cols) {
+        long cells = (long) rows * cols;
+        return cells + cells * 4;  // visited flags + explicit stack
+    }
+}
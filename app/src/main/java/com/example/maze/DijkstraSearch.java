@@ -0,0 +1,36 @@
+package com.example.maze;
+
+// Dijkstra's algorithm: expands cells in order of distance from the start with
+// no goal bias. On a unit-cost grid it visits cells in the same rings as BFS,
+// but goes through the heap, so it is the baseline the heuristics are judged by.
+public class DijkstraSearch extends GridSearch {
+
+    public DijkstraSearch(Maze maze) {
+        this(maze, new SearchScratch());
+    }
+
+    public DijkstraSearch(Maze maze, SearchScratch scratch) {
+        super(maze, scratch);
+    }
+
+    @Override
+    protected void push(int cell, int g) {
+        scratch.heap.push(cell, g);
+    }
+
+    @Override
+    protected int pop() {
+        return scratch.heap.isEmpty() ? -1 : scratch.heap.pop();
+    }
+
+    @Override
+    protected boolean improve(int cell, int g) {
+        scratch.heap.decreaseKey(cell, g);
+        return true;
+    }
+
+    @Override
+    protected int frontierSize() {
+        return scratch.heap.size();
+    }
+}
@@ -3,6 +3,14 @@ package com.example.maze;
 public enum Direction {
     TOP, RIGHT, BOTTOM, LEFT;
 
+    // Cached copy of values() so hot loops don't clone the array on every call
+    public static final Direction[] ALL = values();
+
+    // Bit used for this wall inside a cell's packed wall nibble
+    public int bit() {
+        return 1 << ordinal();
+    }
+
     public Direction opposite() {
         switch (this) {
             case TOP: return BOTTOM;
@@ -0,0 +1,97 @@
+package com.example.maze;
+
+import java.util.Arrays;
+
+// Exact move distances from every cell to one source cell, filled by a single BFS.
+// With the exit as the source, "how far am I", "which move is best from here" and
+// "was that route optimal" are all O(1) lookups. compute() reuses the arrays, so a
+// field can follow a moving source (such as the player) cheaply.
+public class DistanceField {
+    public static final int UNREACHABLE = -1;
+
+    private final Maze maze;
+    private final int[] distance;
+    private final int[] queue;
+    private final int[] neighbors = new int[4];
+    private int source = -1;
+
+    public DistanceField(Maze maze) {
+        this.maze = maze;
+        HeapBudget.require(maze.cellCount(), 8, "Distance field");  // distance and the BFS queue
+        distance = new int[maze.cellCount()];
+        queue = new int[maze.cellCount()];
+    }
+
+    // Field towards the maze's exit, the bottom-right cell
+    public static DistanceField toExit(Maze maze) {
+        DistanceField field = new DistanceField(maze);
+        field.compute(maze.cellCount() - 1);
+        return field;
+    }
+
+    // Refills the field with distances to `source`
+    public void compute(int source) {
+        this.source = source;
+        fill(maze, source, distance, queue, neighbors);
+    }
+
+    // The BFS itself, on caller-owned arrays (each of cellCount() length, `neighbors` 4),
+    // for callers such as Landmarks that keep many distance arrays but need one queue
+    static void fill(Maze maze, int source, int[] distance, int[] queue, int[] neighbors) {
+        Arrays.fill(distance, UNREACHABLE);
+        int head = 0, tail = 0;
+        distance[source] = 0;
+        queue[tail++] = source;
+        while (head < tail) {
+            int cell = queue[head++];
+            int next = distance[cell] + 1;
+            int count = maze.openNeighbors(cell, neighbors);
+            for (int i = 0; i < count; i++) {
+                int neighbor = neighbors[i];
+                if (distance[neighbor] == UNREACHABLE) {
+                    distance[neighbor] = next;
+                    queue[tail++] = neighbor;
+                }
+            }
+        }
+    }
+
+    public int source() {
+        return source;
+    }
+
+    // Moves from `cell` to the source, or UNREACHABLE
+    public int distance(int cell) {
+        return distance[cell];
+    }
+
+    public int distance(Cell cell) {
+        return distance[cell.index()];
+    }
+
+    // Neighbour one move closer to the source, or -1 at the source or when unreachable
+    public int nextCell(int cell) {
+        int d = distance[cell];
+        if (d <= 0) return -1;
+        int count = maze.openNeighbors(cell, neighbors);
+        for (int i = 0; i < count; i++) {
+            if (distance[neighbors[i]] == d - 1) return neighbors[i];
+        }
+        return -1;
+    }
+
+    // Direction of the optimal move from `cell`, or null when there is none
+    public Direction bestMove(int cell) {
+        int next = nextCell(cell);
+        if (next < 0) return null;
+        for (Direction dir : Direction.ALL) {
+            if (maze.neighbor(cell, dir) == next) return dir;
+        }
+        return null;
+    }
+
+    // True when reaching the source from `start` in `moves` moves was a shortest route
+    public boolean isOptimal(int start, int moves) {
+        return distance[start] != UNREACHABLE && moves == distance[start];
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.maze;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+// Eller's algorithm: builds a perfect maze one row at a time while remembering only
+// which set each cell of the current row belongs to. Memory is O(cols) no matter how
+// many rows are produced, so mazes far larger than the heap can be streamed to a sink.
+public class EllerGenerator implements MazeGenerator {
+
+    @Override
+    public void generate(Maze maze, SplittableRandom rand) {
+        int cols = maze.cols;
+        try {
+            stream(maze.rows, cols, rand, (row, walls) -> {
+                for (int c = 0; c < cols; c++) {
+                    maze.setWallBits(row * cols + c, walls[c]);
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);  // the in-memory sink never throws
+        }
+    }
+
+    public static void stream(int rows, int cols, SplittableRandom rand, RowSink sink) throws IOException {
+        int[] label = new int[cols];       // set of each cell in the current row, -1 = none yet
+        int[] parent = new int[cols];      // union-find over the (at most cols) live labels
+        int[] remaining = new int[cols];   // cells of each set not yet given a vertical decision
+        boolean[] hasDown = new boolean[cols];
+        boolean[] openAbove = new boolean[cols];
+        boolean[] inUse = new boolean[cols];
+        byte[] walls = new byte[cols];
+
+        Arrays.fill(label, -1);
+
+        for (int row = 0; row < rows; row++) {
+            boolean lastRow = row == rows - 1;
+
+            // Give every cell that was not carried down from above a fresh singleton set
+            Arrays.fill(inUse, false);
+            for (int c = 0; c < cols; c++) {
+                if (label[c] >= 0) inUse[label[c]] = true;
+            }
+            int free = 0;
+            for (int c = 0; c < cols; c++) {
+                if (label[c] >= 0) continue;
+                while (inUse[free]) free++;
+                label[c] = free;
+                inUse[free] = true;
+            }
+            for (int l = 0; l < cols; l++) parent[l] = l;
+
+            for (int c = 0; c < cols; c++) {
+                int bits = Maze.ALL_WALLS;
+                if (openAbove[c]) bits &= ~Direction.TOP.bit();
+                walls[c] = (byte) bits;
+            }
+
+            // Horizontal pass: randomly join neighbours from different sets (always on the last row)
+            for (int c = 0; c < cols - 1; c++) {
+                int a = find(parent, label[c]);
+                int b = find(parent, label[c + 1]);
+                if (a != b && (lastRow || rand.nextBoolean())) {
+                    walls[c] &= ~Direction.RIGHT.bit();
+                    walls[c + 1] &= ~Direction.LEFT.bit();
+                    parent[b] = a;
+                }
+            }
+            for (int c = 0; c < cols; c++) {
+                label[c] = find(parent, label[c]);
+            }
+
+            if (lastRow) {
+                sink.acceptRow(row, walls);
+                break;
+            }
+
+            // Vertical pass: every set must continue downward through at least one cell
+            for (int c = 0; c < cols; c++) {
+                remaining[label[c]]++;
+                hasDown[label[c]] = false;
+            }
+            for (int c = 0; c < cols; c++) {
+                int set = label[c];
+                remaining[set]--;
+                boolean down = rand.nextBoolean() || (remaining[set] == 0 && !hasDown[set]);
+                if (down) {
+                    hasDown[set] = true;
+                    walls[c] &= ~Direction.BOTTOM.bit();
+                }
+                openAbove[c] = down;
+            }
+
+            sink.acceptRow(row, walls);
+
+            for (int c = 0; c < cols; c++) {
+                if (!openAbove[c]) label[c] = -1;
+            }
+        }
+    }
+
+    private static int find(int[] parent, int x) {
+        while (parent[x] != x) {
+            parent[x] = parent[parent[x]];
+            x = parent[x];
+        }
+        return x;
+    }
+
+    @Override
+    public long scratchBytes(int rows, int cols) {
+        return cols * (4L * 3 + 4);  // label, parent, remaining + four byte-sized row arrays
+    }
+}
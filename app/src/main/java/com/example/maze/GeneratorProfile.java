@@ -0,0 +1,64 @@
+package com.example.maze;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+// Generation time and memory figures for one engine at one grid size, used to
+// pick the cheapest generator that still gives the texture a level needs.
+public class GeneratorProfile {
+    public static final long UNKNOWN = AllocationCounter.UNKNOWN;
+
+    public final GeneratorType type;
+    public final int rows, cols;
+    public final long nanos;           // best wall time over the measured runs
+    public final long allocatedBytes;  // heap allocated by the carving pass, or UNKNOWN
+    public final long scratchBytes;    // allocatedBytes, or the engine's own estimate where untracked
+    public final long peakBytes;       // scratch plus the maze's wall store
+
+    private GeneratorProfile(GeneratorType type, int rows, int cols, long nanos, long allocatedBytes) {
+        this.type = type;
+        this.rows = rows;
+        this.cols = cols;
+        this.nanos = nanos;
+        this.allocatedBytes = allocatedBytes;
+        this.scratchBytes = allocatedBytes != UNKNOWN ? allocatedBytes : type.engine().scratchBytes(rows, cols);
+        this.peakBytes = scratchBytes + (long) rows * cols;
+    }
+
+    // Times the bare carving pass (no loops, no entrance/exit) and keeps the fastest of
+    // `runs`. Allocation is read across all threads so engines that fork are covered,
+    // and the smallest reading is kept so one-off class loading doesn't count.
+    public static GeneratorProfile measure(GeneratorType type, int rows, int cols, long seed, int runs) {
+        long best = Long.MAX_VALUE;
+        long allocated = Long.MAX_VALUE;
+        for (int i = 0; i < runs; i++) {
+            Maze maze = new Maze(rows, cols, 0, seed, type, Maze.newWallStore(rows * cols));
+            SplittableRandom rand = new SplittableRandom(seed);
+            long allocatedBefore = AllocationCounter.allThreadsBytes();
+            long start = System.nanoTime();
+            type.engine().generate(maze, rand);
+            best = Math.min(best, System.nanoTime() - start);
+            if (AllocationCounter.tracks()) {
+                allocated = Math.min(allocated, AllocationCounter.allThreadsBytes() - allocatedBefore);
+            }
+        }
+        return new GeneratorProfile(type, rows, cols, best, AllocationCounter.tracks() ? allocated : UNKNOWN);
+    }
+
+    public static List<GeneratorProfile> measureAll(int rows, int cols, long seed, int runs) {
+        List<GeneratorProfile> profiles = new ArrayList<>();
+        for (GeneratorType type : GeneratorType.values()) {
+            profiles.add(measure(type, rows, cols, seed, runs));
+        }
+        return profiles;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "%s %dx%d: %.2f ms, %d KB peak (%d KB scratch%s)",
+                type, rows, cols, nanos / 1e6, peakBytes / 1024, scratchBytes / 1024,
+                allocatedBytes == UNKNOWN ? ", estimated" : "");
+    }
+}
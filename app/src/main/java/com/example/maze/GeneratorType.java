@@ -0,0 +1,38 @@
+package com.example.maze;
+
+public enum GeneratorType {
+    DFS('D', new DfsGenerator()),
+    PRIM('P', new PrimGenerator()),
+    KRUSKAL('K', new KruskalGenerator()),
+    WILSON('W', new WilsonGenerator()),
+    DIVISION('R', new RecursiveDivisionGenerator()),
+    ELLER('E', new EllerGenerator()),
+    TILED_DFS('T', new TiledGenerator(new DfsGenerator())),
+    TILED_PRIM('Q', new TiledGenerator(new PrimGenerator()));
+
+    // Single character used for this generator inside level codes
+    public final char code;
+    private final MazeGenerator engine;
+
+    GeneratorType(char code, MazeGenerator engine) {
+        this.code = code;
+        this.engine = engine;
+    }
+
+    // Engines are stateless, so one shared instance per type is enough
+    public MazeGenerator engine() {
+        return engine;
+    }
+
+    // Simple DFS for early levels, Prim's for the more complex ones
+    public static GeneratorType forLevel(int level) {
+        return level <= 2 ? DFS : PRIM;
+    }
+
+    public static GeneratorType fromCode(char code) {
+        for (GeneratorType type : values()) {
+            if (type.code == code) return type;
+        }
+        throw new IllegalArgumentException("Unknown generator code: " + code);
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.maze;
+
+// Greedy best-first search: always expands the open cell closest to the goal by
+// Manhattan distance. Cells are queued once and never re-prioritised, so paths
+// come out quickly but are not necessarily shortest.
+public class GreedySearch extends GridSearch {
+
+    public GreedySearch(Maze maze) {
+        this(maze, new SearchScratch());
+    }
+
+    public GreedySearch(Maze maze, SearchScratch scratch) {
+        super(maze, scratch);
+    }
+
+    @Override
+    protected void push(int cell, int g) {
+        scratch.heap.push(cell, manhattan(cell));
+    }
+
+    @Override
+    protected int pop() {
+        return scratch.heap.isEmpty() ? -1 : scratch.heap.pop();
+    }
+
+    @Override
+    protected int frontierSize() {
+        return scratch.heap.size();
+    }
+}
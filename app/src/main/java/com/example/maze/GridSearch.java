@@ -0,0 +1,162 @@
+package com.example.maze;
+
+// Common core of the unit-cost grid searches. A subclass only decides how its
+// frontier orders cells; the scratch arrays, expansion loop, events and path
+// reconstruction are shared, so every algorithm reads the maze and reports to
+// a SearchTrace the same way.
+public abstract class GridSearch implements SearchEngine {
+    protected final Maze maze;
+    protected final SearchScratch scratch;
+
+    protected int start, goal;
+    private boolean finished, found;
+    private int expanded, generated, pushes, pops;
+    private int peakOpen;
+    private SearchListener listener;
+
+    protected GridSearch(Maze maze, SearchScratch scratch) {
+        this.maze = maze;
+        this.scratch = scratch;
+    }
+
+    // Adds a newly reached cell to the frontier
+    protected abstract void push(int cell, int g);
+
+    // Removes the next cell to expand, or returns -1 when the frontier is empty
+    protected abstract int pop();
+
+    // Number of cells currently queued
+    protected abstract int frontierSize();
+
+    // Cells whose g improves while still queued are moved by this; searches that
+    // never re-prioritise (BFS, DFS, greedy) keep the first parent they found
+    protected boolean improve(int cell, int g) {
+        return false;
+    }
+
+    protected void onReset() {
+    }
+
+    @Override
+    public void setListener(SearchListener listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public void reset(int start, int goal) {
+        this.start = start;
+        this.goal = goal;
+        finished = false;
+        found = false;
+        expanded = 0;
+        generated = 1;
+        pushes = 1;
+        pops = 0;
+        peakOpen = 1;
+
+        scratch.begin(maze.cellCount());
+        onReset();
+        scratch.open(start, 0, -1);
+        push(start, 0);
+        if (listener != null) listener.onOpen(start);
+    }
+
+    @Override
+    public int step() {
+        if (finished) return -1;
+        SearchScratch s = scratch;
+        int current = pop();
+        if (current < 0) {
+            finished = true;
+            return -1;
+        }
+
+        pops++;
+        s.close(current);
+        expanded++;
+        if (listener != null) listener.onExpand(current);
+        if (current == goal) {
+            finished = true;
+            found = true;
+            return current;
+        }
+
+        int nextG = s.g[current] + 1;
+        int count = maze.openNeighbors(current, s.neighbors);
+        for (int i = 0; i < count; i++) {
+            int next = s.neighbors[i];
+            if (!s.isSeen(next)) {
+                s.open(next, nextG, current);
+                push(next, nextG);
+                generated++;
+                pushes++;
+                if (listener != null) listener.onOpen(next);
+            } else if (!s.isClosed(next) && nextG < s.g[next] && improve(next, nextG)) {
+                s.open(next, nextG, current);
+            }
+        }
+        peakOpen = Math.max(peakOpen, frontierSize());
+        return current;
+    }
+
+    // Runs to completion and reports whether the goal was reached
+    public boolean run() {
+        while (step() >= 0) { }
+        return found;
+    }
+
+    @Override
+    public boolean isFinished() {
+        return finished;
+    }
+
+    @Override
+    public boolean found() {
+        return found;
+    }
+
+    public boolean isOpen(int cell) {
+        return scratch.isSeen(cell) && !scratch.isClosed(cell);
+    }
+
+    public boolean isClosed(int cell) {
+        return scratch.isClosed(cell);
+    }
+
+    @Override
+    public int expandedCount() {
+        return expanded;
+    }
+
+    @Override
+    public int generatedCount() {
+        return generated;
+    }
+
+    @Override
+    public int pushCount() {
+        return pushes;
+    }
+
+    @Override
+    public int popCount() {
+        return pops;
+    }
+
+    @Override
+    public int peakOpenCount() {
+        return peakOpen;
+    }
+
+    // g is the number of moves along the parent chain, so it also sizes the path
+    @Override
+    public int[] path() {
+        if (!found) return new int[0];
+        return scratch.path(start, goal, scratch.g[goal]);
+    }
+
+    // Manhattan distance to the goal
+    protected int manhattan(int cell) {
+        return Math.abs(maze.rowOf(cell) - maze.rowOf(goal)) + Math.abs(maze.colOf(cell) - maze.colOf(goal));
+    }
+}
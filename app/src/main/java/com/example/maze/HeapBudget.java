@@ -0,0 +1,32 @@
+package com.example.maze;
+
+// Working state lives on the Java heap even when the walls are in a mapped
+// file, so work too large for the heap is refused before allocating instead
+// of failing with an OutOfMemoryError halfway through.
+final class HeapBudget {
+
+    private HeapBudget() {
+    }
+
+    static void require(long cells, long bytesPerCell, String what) {
+        long needed = cells * bytesPerCell;
+        long free = free();
+        if (needed > free) {
+            throw new IllegalStateException(what + " needs " + (needed >> 20) + " MB of heap for "
+                    + cells + " cells but only " + (free >> 20) + " MB is free");
+        }
+    }
+
+    static void requireBytes(long needed, String what) {
+        long free = free();
+        if (needed > free) {
+            throw new IllegalStateException(what + " needs " + (needed >> 20) + " MB of heap but only "
+                    + (free >> 20) + " MB is free");
+        }
+    }
+
+    private static long free() {
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.maxMemory() - (runtime.totalMemory() - runtime.freeMemory());
+    }
+}
@@ -0,0 +1,399 @@
+package com.example.maze;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+// Two-level view of a very large maze for repeated queries (HPA*). The grid is
+// cut into square clusters. A cell with an opening into another cluster is an
+// entrance; inside each cluster, cells that cannot lie between two entrances
+// (dead-end branches) are pruned and the remaining corridors are contracted, so
+// each cluster keeps only its entrances and junctions, joined by weighted edges.
+// Pruning and contraction keep entrance-to-entrance distances exact, so paths
+// found on the abstract graph are true shortest paths.
+//
+// A query joins the start and goal to the nodes of their clusters with one
+// local BFS each, runs A* on the abstract graph, and refines only the clusters
+// the route passes through, one local BFS per visit.
+public class HierarchicalGraph implements SearchCounters {
+    public static final int DEFAULT_CLUSTER_SIZE = 32;
+
+    private final Maze maze;
+    private final int size;            // cluster side in cells
+    private final int clusterCols;
+    private final int[] clusterStart;  // nodes of cluster k are clusterStart[k] until clusterStart[k + 1]
+    private final int[] nodeCell;      // sorted by cell within each cluster
+    private final int[] edgeStart;
+    private final int[] edgeTarget;
+    private final int[] edgeWeight;
+
+    // Query scratch: the abstract nodes plus the virtual start and goal
+    private final SearchScratch scratch = new SearchScratch();
+    private final int[] startLinks, startLinkDistance, goalLink;
+    private final int[] local, queue, localParent;
+    private final int[] neighbors = new int[4];
+    private int startLinkCount;
+    private int expanded, generated, pushes, peakOpen;
+
+    private HierarchicalGraph(Maze maze, int size, int[] clusterStart, int[] nodeCell,
+                              int[] edgeStart, int[] edgeTarget, int[] edgeWeight) {
+        this.maze = maze;
+        this.size = size;
+        this.clusterCols = (maze.cols + size - 1) / size;
+        this.clusterStart = clusterStart;
+        this.nodeCell = nodeCell;
+        this.edgeStart = edgeStart;
+        this.edgeTarget = edgeTarget;
+        this.edgeWeight = edgeWeight;
+
+        int mostNodes = 0;
+        for (int k = 0; k + 1 < clusterStart.length; k++) {
+            mostNodes = Math.max(mostNodes, clusterStart[k + 1] - clusterStart[k]);
+        }
+        startLinks = new int[mostNodes + 1];
+        startLinkDistance = new int[mostNodes + 1];
+        goalLink = new int[mostNodes];
+        local = new int[size * size];
+        queue = new int[size * size];
+        localParent = new int[size * size];
+    }
+
+    public static HierarchicalGraph build(Maze maze) {
+        return build(maze, DEFAULT_CLUSTER_SIZE);
+    }
+
+    public static HierarchicalGraph build(Maze maze, int clusterSize) {
+        if (clusterSize < 2) throw new IllegalArgumentException("Cluster size must be at least 2");
+        HeapBudget.require(maze.cellCount(), 4, "Cluster graph");  // nodes and edges, measured at 3-4 bytes a cell
+        int clusterRows = (maze.rows + clusterSize - 1) / clusterSize;
+        int clusterCols = (maze.cols + clusterSize - 1) / clusterSize;
+        int clusters = clusterRows * clusterCols;
+        int area = clusterSize * clusterSize;
+
+        // Pass 1: prune each cluster and pick out its nodes
+        BitSet pruned = new BitSet(maze.cellCount());
+        BitSet isNode = new BitSet(maze.cellCount());
+        int[] clusterStart = new int[clusters + 1];
+        int[] nodeCell = new int[Math.max(16, maze.cellCount() / 16)];
+        int nodes = 0;
+        int[] degree = new int[area];
+        int[] queue = new int[area];
+        int[] out = new int[4];
+        int[] buffer = new int[4];
+        for (int k = 0; k < clusters; k++) {
+            clusterStart[k] = nodes;
+            int r0 = (k / clusterCols) * clusterSize, c0 = (k % clusterCols) * clusterSize;
+            int r1 = Math.min(r0 + clusterSize, maze.rows), c1 = Math.min(c0 + clusterSize, maze.cols);
+            int width = c1 - c0;
+
+            // Strip dead-end branches: a non-entrance cell with one way in is never between two entrances
+            int tail = 0;
+            for (int r = r0; r < r1; r++) {
+                for (int c = c0; c < c1; c++) {
+                    int cell = maze.index(r, c);
+                    int count = maze.openNeighbors(cell, out);
+                    int inside = 0;
+                    for (int i = 0; i < count; i++) {
+                        if (contains(maze, out[i], r0, c0, r1, c1)) inside++;
+                    }
+                    int l = (r - r0) * width + (c - c0);
+                    degree[l] = inside;
+                    if (inside == count && inside <= 1) queue[tail++] = l;
+                }
+            }
+            for (int head = 0; head < tail; head++) {
+                int l = queue[head];
+                int cell = maze.index(r0 + l / width, c0 + l % width);
+                pruned.set(cell);
+                int count = maze.openNeighbors(cell, out);
+                for (int i = 0; i < count; i++) {
+                    int next = out[i];
+                    if (pruned.get(next)) continue;
+                    int nr = maze.rowOf(next) - r0, nc = maze.colOf(next) - c0;
+                    int nl = nr * width + nc;
+                    // Neighbours here are inside the cluster: a pruned cell has no outside openings
+                    if (--degree[nl] == 1 && !isEntrance(maze, next, r0, c0, r1, c1, buffer)) queue[tail++] = nl;
+                }
+            }
+
+            for (int r = r0; r < r1; r++) {
+                for (int c = c0; c < c1; c++) {
+                    int cell = maze.index(r, c);
+                    if (pruned.get(cell)) continue;
+                    int l = (r - r0) * width + (c - c0);
+                    if (degree[l] == 2 && !isEntrance(maze, cell, r0, c0, r1, c1, buffer)) continue;
+                    if (nodes == nodeCell.length) nodeCell = Arrays.copyOf(nodeCell, nodes * 2);
+                    nodeCell[nodes++] = cell;
+                    isNode.set(cell);
+                }
+            }
+        }
+        clusterStart[clusters] = nodes;
+        nodeCell = Arrays.copyOf(nodeCell, nodes);
+
+        // Pass 2: contracted corridors inside clusters, single steps between them
+        int[] edgeStart = new int[nodes + 1];
+        int[] edgeTarget = new int[Math.max(16, nodes * 3)];
+        int[] edgeWeight = new int[edgeTarget.length];
+        int edges = 0;
+        for (int k = 0; k < clusters; k++) {
+            int r0 = (k / clusterCols) * clusterSize, c0 = (k % clusterCols) * clusterSize;
+            int r1 = Math.min(r0 + clusterSize, maze.rows), c1 = Math.min(c0 + clusterSize, maze.cols);
+            for (int node = clusterStart[k]; node < clusterStart[k + 1]; node++) {
+                edgeStart[node] = edges;
+                int cell = nodeCell[node];
+                int count = maze.openNeighbors(cell, out);
+                for (int i = 0; i < count; i++) {
+                    int next = out[i];
+                    int target, weight;
+                    if (!contains(maze, next, r0, c0, r1, c1)) {
+                        int other = clusterOf(maze, next, clusterSize, clusterCols);
+                        target = Arrays.binarySearch(nodeCell, clusterStart[other], clusterStart[other + 1], next);
+                        weight = 1;
+                    } else {
+                        if (pruned.get(next)) continue;
+                        int prev = cell;
+                        weight = 1;
+                        while (!isNode.get(next)) {
+                            // A corridor cell has exactly two kept openings inside the cluster
+                            int degreeHere = maze.openNeighbors(next, buffer);
+                            int step = -1;
+                            for (int j = 0; j < degreeHere; j++) {
+                                int candidate = buffer[j];
+                                if (candidate != prev && !pruned.get(candidate)
+                                        && contains(maze, candidate, r0, c0, r1, c1)) {
+                                    step = candidate;
+                                    break;
+                                }
+                            }
+                            prev = next;
+                            next = step;
+                            weight++;
+                        }
+                        if (next == cell) continue;  // a loop back to the same node
+                        target = Arrays.binarySearch(nodeCell, clusterStart[k], clusterStart[k + 1], next);
+                    }
+                    if (edges == edgeTarget.length) {
+                        edgeTarget = Arrays.copyOf(edgeTarget, edges * 2);
+                        edgeWeight = Arrays.copyOf(edgeWeight, edges * 2);
+                    }
+                    edgeTarget[edges] = target;
+                    edgeWeight[edges] = weight;
+                    edges++;
+                }
+            }
+        }
+        edgeStart[nodes] = edges;
+        return new HierarchicalGraph(maze, clusterSize, clusterStart, nodeCell, edgeStart,
+                Arrays.copyOf(edgeTarget, edges), Arrays.copyOf(edgeWeight, edges));
+    }
+
+    private static boolean contains(Maze maze, int cell, int r0, int c0, int r1, int c1) {
+        int r = maze.rowOf(cell), c = maze.colOf(cell);
+        return r >= r0 && r < r1 && c >= c0 && c < c1;
+    }
+
+    private static boolean isEntrance(Maze maze, int cell, int r0, int c0, int r1, int c1, int[] out) {
+        int count = maze.openNeighbors(cell, out);
+        for (int i = 0; i < count; i++) {
+            if (!contains(maze, out[i], r0, c0, r1, c1)) return true;
+        }
+        return false;
+    }
+
+    private static int clusterOf(Maze maze, int cell, int size, int clusterCols) {
+        return (maze.rowOf(cell) / size) * clusterCols + maze.colOf(cell) / size;
+    }
+
+    public int clusterSize() {
+        return size;
+    }
+
+    public int nodeCount() {
+        return nodeCell.length;
+    }
+
+    public int edgeCount() {
+        return edgeTarget.length;
+    }
+
+    // Counters of the last query cover the abstract search only, not the
+    // in-cluster BFS that joins the endpoints and refines the route
+    @Override
+    public int expandedCount() {
+        return expanded;
+    }
+
+    @Override
+    public int generatedCount() {
+        return generated;
+    }
+
+    @Override
+    public int pushCount() {
+        return pushes;
+    }
+
+    @Override
+    public int popCount() {
+        return expanded;
+    }
+
+    @Override
+    public int peakOpenCount() {
+        return peakOpen;
+    }
+
+    // Shortest path length from start to goal without refining it, or -1 when unreachable
+    public int distance(int start, int goal) {
+        int goalId = search(start, goal);
+        return goalId < 0 ? -1 : scratch.g[goalId];
+    }
+
+    // Shortest path from start to goal as cell indices, or an empty array when there is none
+    public int[] solve(int start, int goal) {
+        int goalId = search(start, goal);
+        if (goalId < 0) return new int[0];
+
+        // Abstract route as waypoint cells: start, the nodes passed, goal
+        SearchScratch s = scratch;
+        int startId = goalId + 1;
+        int hops = 0;
+        for (int id = goalId; id != startId; id = s.parent[id]) hops++;
+        int[] waypoints = new int[hops + 1];
+        waypoints[0] = start;
+        waypoints[hops] = goal;
+        for (int id = s.parent[goalId], i = hops - 1; id != startId; id = s.parent[id], i--) {
+            waypoints[i] = nodeCell[id];
+        }
+
+        // Refine each stay in a cluster with one local BFS from where the route enters to where it leaves
+        int[] path = new int[s.g[goalId] + 1];
+        path[0] = start;
+        int n = 1;
+        for (int i = 0; i < hops; ) {
+            int from = waypoints[i];
+            int cluster = clusterOf(maze, from, size, clusterCols);
+            int j = i;
+            while (j < hops && clusterOf(maze, waypoints[j + 1], size, clusterCols) == cluster) j++;
+            if (j > i) {
+                n = appendLocalPath(cluster, from, waypoints[j], path, n);
+                i = j;
+            } else {
+                path[n++] = waypoints[++i];  // a step across a cluster border
+            }
+        }
+        return path;
+    }
+
+    // A* over the abstract graph with start and goal joined in; returns the goal id, or -1
+    private int search(int start, int goal) {
+        expanded = pushes = peakOpen = 0;
+        generated = 1;
+        int nodes = nodeCell.length;
+        int goalId = nodes, startId = nodes + 1;
+        SearchScratch s = scratch;
+        s.begin(nodes + 2);
+        IndexedMinHeap heap = s.heap;
+
+        int startCluster = clusterOf(maze, start, size, clusterCols);
+        int goalCluster = clusterOf(maze, goal, size, clusterCols);
+        int goalFirst = clusterStart[goalCluster];
+        int goalCount = clusterStart[goalCluster + 1] - goalFirst;
+
+        localSearch(goalCluster, goal);
+        for (int i = 0; i < goalCount; i++) goalLink[i] = local[localIndex(nodeCell[goalFirst + i])];
+
+        localSearch(startCluster, start);
+        startLinkCount = 0;
+        for (int node = clusterStart[startCluster]; node < clusterStart[startCluster + 1]; node++) {
+            int d = local[localIndex(nodeCell[node])];
+            if (d < 0) continue;
+            startLinks[startLinkCount] = node;
+            startLinkDistance[startLinkCount++] = d;
+        }
+        if (startCluster == goalCluster && local[localIndex(goal)] >= 0) {
+            startLinks[startLinkCount] = goalId;
+            startLinkDistance[startLinkCount++] = local[localIndex(goal)];
+        }
+
+        s.open(startId, 0, -1);
+        s.close(startId);
+        for (int i = 0; i < startLinkCount; i++) relax(startId, startLinks[i], startLinkDistance[i], goal);
+
+        while (!heap.isEmpty()) {
+            peakOpen = Math.max(peakOpen, heap.size());
+            int node = heap.pop();
+            expanded++;
+            s.close(node);
+            if (node == goalId) return goalId;
+
+            int g = s.g[node];
+            for (int e = edgeStart[node]; e < edgeStart[node + 1]; e++) {
+                relax(node, edgeTarget[e], g + edgeWeight[e], goal);
+            }
+            int link = node - goalFirst;
+            if (link >= 0 && link < goalCount && goalLink[link] >= 0) relax(node, goalId, g + goalLink[link], goal);
+        }
+        return -1;
+    }
+
+    private void relax(int from, int to, int g, int goal) {
+        SearchScratch s = scratch;
+        if (s.isClosed(to)) return;
+        boolean seen = s.isSeen(to);
+        if (seen && g >= s.g[to]) return;
+        s.open(to, g, from);
+        int cell = to < nodeCell.length ? nodeCell[to] : goal;
+        int h = Math.abs(maze.rowOf(cell) - maze.rowOf(goal)) + Math.abs(maze.colOf(cell) - maze.colOf(goal));
+        long key = ((long) (g + h) << 32) | h;
+        if (seen) {
+            s.heap.decreaseKey(to, key);
+        } else {
+            s.heap.push(to, key);
+            generated++;
+            pushes++;
+        }
+    }
+
+    // BFS from `source` that never leaves its cluster; fills `local` with distances (-1 unreached)
+    private void localSearch(int cluster, int source) {
+        int r0 = (cluster / clusterCols) * size, c0 = (cluster % clusterCols) * size;
+        int r1 = Math.min(r0 + size, maze.rows), c1 = Math.min(c0 + size, maze.cols);
+        Arrays.fill(local, -1);
+        int head = 0, tail = 0;
+        int l = localIndex(source);
+        local[l] = 0;
+        localParent[l] = -1;
+        queue[tail++] = source;
+        while (head < tail) {
+            int cell = queue[head++];
+            int next = local[localIndex(cell)] + 1;
+            int count = maze.openNeighbors(cell, neighbors);
+            for (int i = 0; i < count; i++) {
+                int neighbor = neighbors[i];
+                if (!contains(maze, neighbor, r0, c0, r1, c1)) continue;
+                int nl = localIndex(neighbor);
+                if (local[nl] >= 0) continue;
+                local[nl] = next;
+                localParent[nl] = cell;
+                queue[tail++] = neighbor;
+            }
+        }
+    }
+
+    // Appends the in-cluster shortest path from `from` (already in `path`) to `to`
+    private int appendLocalPath(int cluster, int from, int to, int[] path, int n) {
+        localSearch(cluster, from);
+        int length = local[localIndex(to)];
+        int cell = to;
+        for (int i = n + length - 1; i >= n; i--) {
+            path[i] = cell;
+            cell = localParent[localIndex(cell)];
+        }
+        return n + length;
+    }
+
+    private int localIndex(int cell) {
+        return (maze.rowOf(cell) % size) * size + maze.colOf(cell) % size;
+    }
+}
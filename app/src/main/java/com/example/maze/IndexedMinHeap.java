@@ -0,0 +1,129 @@
+package com.example.maze;
+
+import java.util.Arrays;
+
+// Binary min-heap of int items (cell indices) with long keys and real decrease-key.
+// `position` maps an item to its heap slot, or -1 when it is not queued, so
+// contains() and decreaseKey() are O(1) and O(log n) with no boxing.
+// clear() only touches the items still queued, so reuse between searches
+// costs nothing proportional to the grid.
+public class IndexedMinHeap {
+    private int[] items = new int[64];
+    private long[] keys = new long[64];
+    private int[] position = new int[0];
+    private int size;
+
+    public IndexedMinHeap(int capacity) {
+        ensureCapacity(capacity);
+    }
+
+    // Items must be in [0, capacity)
+    public void ensureCapacity(int capacity) {
+        if (capacity > position.length) {
+            int old = position.length;
+            position = Arrays.copyOf(position, capacity);
+            Arrays.fill(position, old, capacity, -1);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean contains(int item) {
+        return position[item] >= 0;
+    }
+
+    public long keyOf(int item) {
+        return keys[position[item]];
+    }
+
+    public long peekKey() {
+        return keys[0];
+    }
+
+    public void push(int item, long key) {
+        if (size == items.length) {
+            items = Arrays.copyOf(items, size * 2);
+            keys = Arrays.copyOf(keys, size * 2);
+        }
+        siftUp(size++, item, key);
+    }
+
+    // Lowers the key of a queued item; a larger key is ignored
+    public void decreaseKey(int item, long key) {
+        int slot = position[item];
+        if (key < keys[slot]) siftUp(slot, item, key);
+    }
+
+    // Pushes the item, or lowers its key if it is already queued
+    public void pushOrDecrease(int item, long key) {
+        if (position[item] >= 0) decreaseKey(item, key);
+        else push(item, key);
+    }
+
+    // Sets the key of a queued item in either direction, or pushes it
+    public void update(int item, long key) {
+        int slot = position[item];
+        if (slot < 0) push(item, key);
+        else if (key < keys[slot]) siftUp(slot, item, key);
+        else siftDown(slot, item, key);
+    }
+
+    // Takes an item out of the heap wherever it is; no-op if it is not queued
+    public void remove(int item) {
+        int slot = position[item];
+        if (slot < 0) return;
+        position[item] = -1;
+        if (--size == slot) return;
+        int last = items[size];
+        long lastKey = keys[size];
+        if (slot > 0 && lastKey < keys[(slot - 1) >>> 1]) siftUp(slot, last, lastKey);
+        else siftDown(slot, last, lastKey);
+    }
+
+    public int pop() {
+        if (size == 0) throw new IllegalStateException("Heap is empty");
+        int top = items[0];
+        position[top] = -1;
+        if (--size > 0) siftDown(0, items[size], keys[size]);
+        return top;
+    }
+
+    public void clear() {
+        for (int i = 0; i < size; i++) position[items[i]] = -1;
+        size = 0;
+    }
+
+    private void siftUp(int slot, int item, long key) {
+        while (slot > 0) {
+            int parent = (slot - 1) >>> 1;
+            if (keys[parent] <= key) break;
+            place(slot, items[parent], keys[parent]);
+            slot = parent;
+        }
+        place(slot, item, key);
+    }
+
+    private void siftDown(int slot, int item, long key) {
+        int half = size >>> 1;
+        while (slot < half) {
+            int child = 2 * slot + 1;
+            if (child + 1 < size && keys[child + 1] < keys[child]) child++;
+            if (key <= keys[child]) break;
+            place(slot, items[child], keys[child]);
+            slot = child;
+        }
+        place(slot, item, key);
+    }
+
+    private void place(int slot, int item, long key) {
+        items[slot] = item;
+        keys[slot] = key;
+        position[item] = slot;
+    }
+}
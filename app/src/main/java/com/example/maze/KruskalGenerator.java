@@ -0,0 +1,75 @@
+package com.example.maze;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+// Randomized Kruskal's: walls are knocked down in random order whenever they
+// separate two different regions. Texture is close to Prim's but with more
+// uniformly spread short dead ends.
+public class KruskalGenerator implements MazeGenerator {
+
+    @Override
+    public void generate(Maze maze, SplittableRandom rand) {
+        int rows = maze.rows, cols = maze.cols;
+        int cells = maze.cellCount();
+
+        // Interior walls, encoded as cell * 2 for the RIGHT wall and cell * 2 + 1 for the BOTTOM wall
+        int[] edges = new int[Math.max(0, (cols - 1) * rows + (rows - 1) * cols)];
+        int count = 0;
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                int cell = r * cols + c;
+                if (c < cols - 1) edges[count++] = cell * 2;
+                if (r < rows - 1) edges[count++] = cell * 2 + 1;
+            }
+        }
+
+        // Union-find forest: negative entries are roots holding -(set size)
+        int[] parent = new int[cells];
+        Arrays.fill(parent, -1);
+
+        int joined = 0;
+        // Shuffle lazily: each step swaps a random remaining edge into place and processes it
+        for (int i = count - 1; i >= 0 && joined < cells - 1; i--) {
+            int j = rand.nextInt(i + 1);
+            int edge = edges[j];
+            edges[j] = edges[i];
+
+            int a = edge >>> 1;
+            int b = (edge & 1) == 0 ? a + 1 : a + cols;
+            int rootA = find(parent, a);
+            int rootB = find(parent, b);
+            if (rootA == rootB) continue;
+
+            maze.removeWalls(a, b);
+            joined++;
+
+            // Union by size keeps the trees shallow
+            if (parent[rootA] > parent[rootB]) {
+                int tmp = rootA;
+                rootA = rootB;
+                rootB = tmp;
+            }
+            parent[rootA] += parent[rootB];
+            parent[rootB] = rootA;
+        }
+    }
+
+    // Find with path splitting: every node on the way up is re-pointed at its grandparent
+    private static int find(int[] parent, int x) {
+        while (parent[x] >= 0) {
+            int up = parent[x];
+            if (parent[up] >= 0) {
+                parent[x] = parent[up];
+            }
+            x = up;
+        }
+        return x;
+    }
+
+    @Override
+    public long scratchBytes(int rows, int cols) {
+        long cells = (long) rows * cols;
+        return (2 * cells - rows - cols) * 4 + cells * 4;  // edge list + union-find forest
+    }
+}
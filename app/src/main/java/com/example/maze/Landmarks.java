@@ -0,0 +1,94 @@
+package com.example.maze;
+
+import java.util.Arrays;
+
+// Landmark lower bounds for A* (ALT). A BFS from each landmark gives exact
+// distances d(L, x) to every cell, and by the triangle inequality
+// |d(L, goal) - d(L, x)| never overestimates the distance from x to the goal.
+// In a winding maze that bound follows the corridors, where Manhattan distance
+// only sees the straight line, so A* expands far fewer cells.
+//
+// Landmarks are picked farthest-first: each new one is the cell farthest from
+// every landmark chosen so far, which lands them in corners and dead-end tips
+// that routes point towards. Memory is one int per cell per landmark.
+public class Landmarks {
+    public static final int DEFAULT_COUNT = 8;
+
+    private final int[][] distance;  // [landmark][cell], DistanceField.UNREACHABLE when unreachable
+    private final int[] cells;
+
+    private Landmarks(int[][] distance, int[] cells) {
+        this.distance = distance;
+        this.cells = cells;
+    }
+
+    public static Landmarks select(Maze maze, int count) {
+        if (count < 1) throw new IllegalArgumentException("Need at least one landmark");
+        int n = maze.cellCount();
+        count = Math.min(count, n);
+        HeapBudget.require(n, 4L * (count + 3), "Landmarks");  // a distance array per landmark, plus nearest, queue and seed
+        int[][] distance = new int[count][];
+        int[] cells = new int[count];
+        int[] nearest = new int[n];  // distance to the closest landmark so far
+        Arrays.fill(nearest, Integer.MAX_VALUE);
+        int[] queue = new int[n];
+        int[] neighbors = new int[4];
+
+        // Seed from the entrance corner: the cell farthest from it becomes the first landmark
+        int[] seed = new int[n];
+        DistanceField.fill(maze, 0, seed, queue, neighbors);
+        int next = farthest(seed);
+        for (int i = 0; i < count; i++) {
+            cells[i] = next;
+            int[] d = new int[n];
+            DistanceField.fill(maze, next, d, queue, neighbors);
+            distance[i] = d;
+            for (int cell = 0; cell < n; cell++) {
+                if (d[cell] >= 0 && d[cell] < nearest[cell]) nearest[cell] = d[cell];
+            }
+            next = farthest(nearest);
+        }
+        return new Landmarks(distance, cells);
+    }
+
+    // Cell with the largest value; unreachable cells (still MAX_VALUE) win, so a
+    // disconnected part of the maze gets a landmark of its own
+    private static int farthest(int[] values) {
+        int best = 0;
+        for (int cell = 1; cell < values.length; cell++) {
+            if (values[cell] > values[best]) best = cell;
+        }
+        return best;
+    }
+
+    public int count() {
+        return cells.length;
+    }
+
+    public int cell(int landmark) {
+        return cells[landmark];
+    }
+
+    // Distances from every landmark to `goal`, computed once per query
+    public int[] toGoal(int goal) {
+        int[] d = new int[cells.length];
+        for (int i = 0; i < cells.length; i++) d[i] = distance[i][goal];
+        return d;
+    }
+
+    // Lower bound on the moves from `cell` to the goal whose landmark distances are `toGoal`
+    public int lowerBound(int cell, int[] toGoal) {
+        int best = 0;
+        for (int i = 0; i < toGoal.length; i++) {
+            int dc = distance[i][cell], dg = toGoal[i];
+            if (dc < 0 || dg < 0) continue;
+            int bound = dc > dg ? dc - dg : dg - dc;
+            if (bound > best) best = bound;
+        }
+        return best;
+    }
+
+    public long memoryBytes() {
+        return 4L * cells.length * (distance.length > 0 ? distance[0].length : 0);
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.maze;
+
+import java.util.Locale;
+
+// Compact, shareable description of a generated maze. Because generation is fully
+// driven by the seed, the code is enough to rebuild a bit-identical Maze.
+//
+// Format: 1.<generator>.<level>.<rows>-<cols>.<seed> with numbers in base 36,
+// e.g. "1.P.3.b-b.ir1" is an 11x11 level-3 Prim maze. The size separator must not
+// be a base-36 digit, or sizes such as 33 ('x') would be ambiguous.
+public class LevelCode {
+    private static final String VERSION = "1";
+
+    public final long seed;
+    public final int rows, cols, level;
+    public final GeneratorType generator;
+
+    public LevelCode(long seed, int rows, int cols, int level, GeneratorType generator) {
+        this.seed = seed;
+        this.rows = rows;
+        this.cols = cols;
+        this.level = level;
+        this.generator = generator;
+    }
+
+    public static LevelCode of(Maze maze) {
+        return new LevelCode(maze.getSeed(), maze.rows, maze.cols, maze.getLevel(), maze.getGenerator());
+    }
+
+    public Maze build() {
+        return new Maze(rows, cols, level, seed, generator);
+    }
+
+    public static LevelCode parse(String code) {
+        String[] parts = code.trim().toLowerCase(Locale.ROOT).split("\\.");
+        if (parts.length != 5 || !parts[0].equals(VERSION)) {
+            throw new IllegalArgumentException("Not a level code: " + code);
+        }
+        String[] size = parts[3].split("-");
+        if (parts[1].length() != 1 || size.length != 2) {
+            throw new IllegalArgumentException("Not a level code: " + code);
+        }
+
+        try {
+            GeneratorType generator = GeneratorType.fromCode(Character.toUpperCase(parts[1].charAt(0)));
+            int level = Integer.parseInt(parts[2], 36);
+            int rows = Integer.parseInt(size[0], 36);
+            int cols = Integer.parseInt(size[1], 36);
+            long seed = Long.parseUnsignedLong(parts[4], 36);
+            if (rows <= 0 || cols <= 0) {
+                throw new IllegalArgumentException("Invalid maze size in level code: " + code);
+            }
+            return new LevelCode(seed, rows, cols, level, generator);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Not a level code: " + code, e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return VERSION + "." + generator.code
+                + "." + Integer.toString(level, 36)
+                + "." + Integer.toString(rows, 36) + "-" + Integer.toString(cols, 36)
+                + "." + Long.toUnsignedString(seed, 36);
+    }
+}
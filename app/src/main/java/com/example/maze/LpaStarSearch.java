@@ -0,0 +1,153 @@
+package com.example.maze;
+
+import java.util.Arrays;
+
+// Lifelong Planning A* (LPA*) between a fixed start and goal. The search state
+// (g, rhs and the open queue) survives between solves: the engine listens to the
+// maze's wall changes, and each change only re-queues the two cells the wall
+// separates. The next solve() then repairs just the part of the search tree the
+// edit invalidated instead of searching again from scratch.
+//
+// rhs(s) is the one-step lookahead min over open neighbours s' of g(s') + 1.
+// A cell is consistent when g == rhs, and only inconsistent cells are queued,
+// keyed by [min(g, rhs) + h, min(g, rhs)] packed into one long.
+public class LpaStarSearch implements WallChangeListener, SearchCounters {
+    private static final int INF = Integer.MAX_VALUE / 2;
+
+    private final Maze maze;
+    private final int start, goal;
+    private final int goalRow, goalCol;
+    private final int[] g, rhs;
+    private final IndexedMinHeap open;
+    private final int[] neighbors = new int[4];
+    private int expanded, queued, pushes, peakOpen;
+
+    public LpaStarSearch(Maze maze, int start, int goal) {
+        this.maze = maze;
+        this.start = start;
+        this.goal = goal;
+        goalRow = maze.rowOf(goal);
+        goalCol = maze.colOf(goal);
+        int cells = maze.cellCount();
+        g = new int[cells];
+        rhs = new int[cells];
+        Arrays.fill(g, INF);
+        Arrays.fill(rhs, INF);
+        open = new IndexedMinHeap(cells);
+
+        rhs[start] = 0;
+        open.push(start, key(start));
+        maze.addWallChangeListener(this);
+    }
+
+    // Stops listening to the maze; the engine must not be used afterwards
+    public void detach() {
+        maze.removeWallChangeListener(this);
+    }
+
+    @Override
+    public void onWallChanged(int a, int b, boolean blocked) {
+        updateCell(a);
+        updateCell(b);
+    }
+
+    // Brings the search up to date with every wall change so far and returns the
+    // shortest path, or an empty array when the goal cannot be reached
+    public int[] solve() {
+        expanded = pushes = 0;
+        queued = peakOpen = open.size();  // left over from earlier solves and wall changes
+        while (!open.isEmpty() && (open.peekKey() < key(goal) || rhs[goal] != g[goal])) {
+            peakOpen = Math.max(peakOpen, open.size());
+            int cell = open.pop();
+            expanded++;
+            int count = maze.openNeighbors(cell, neighbors);
+            if (g[cell] > rhs[cell]) {
+                g[cell] = rhs[cell];
+            } else {
+                g[cell] = INF;
+                updateCell(cell);
+            }
+            // updateCell() reuses the neighbours buffer, so walk a copy
+            int n0 = neighbors[0], n1 = neighbors[1], n2 = neighbors[2], n3 = neighbors[3];
+            if (count > 0) updateCell(n0);
+            if (count > 1) updateCell(n1);
+            if (count > 2) updateCell(n2);
+            if (count > 3) updateCell(n3);
+        }
+        return path();
+    }
+
+    // Counters of the last solve(). Generated counts the cells queued when it
+    // began plus those queued during it; a cell is re-queued whenever it turns
+    // inconsistent again, so it can be counted more than once.
+    @Override
+    public int expandedCount() {
+        return expanded;
+    }
+
+    @Override
+    public int generatedCount() {
+        return queued + pushes;
+    }
+
+    @Override
+    public int pushCount() {
+        return pushes;
+    }
+
+    @Override
+    public int popCount() {
+        return expanded;
+    }
+
+    @Override
+    public int peakOpenCount() {
+        return peakOpen;
+    }
+
+    // Moves from start to `cell` in the current search tree, or -1 if not reached
+    public int distance(int cell) {
+        return g[cell] >= INF ? -1 : g[cell];
+    }
+
+    private void updateCell(int cell) {
+        if (cell != start) {
+            int best = INF;
+            int count = maze.openNeighbors(cell, neighbors);
+            for (int i = 0; i < count; i++) {
+                best = Math.min(best, g[neighbors[i]] + 1);
+            }
+            rhs[cell] = Math.min(best, INF);
+        }
+        if (g[cell] != rhs[cell]) {
+            if (!open.contains(cell)) pushes++;
+            open.update(cell, key(cell));
+        } else {
+            open.remove(cell);
+        }
+    }
+
+    private int[] path() {
+        if (g[goal] >= INF) return new int[0];
+        int[] path = new int[g[goal] + 1];
+        int cell = goal;
+        for (int i = path.length - 1; i > 0; i--) {
+            path[i] = cell;
+            int count = maze.openNeighbors(cell, neighbors);
+            for (int j = 0; j < count; j++) {
+                if (g[neighbors[j]] == g[cell] - 1) {
+                    cell = neighbors[j];
+                    break;
+                }
+            }
+        }
+        path[0] = start;
+        return path;
+    }
+
+    private long key(int cell) {
+        int k2 = Math.min(g[cell], rhs[cell]);
+        int h = Math.abs(maze.rowOf(cell) - goalRow) + Math.abs(maze.colOf(cell) - goalCol);
+        return ((long) (k2 + h) << 32) | k2;
+    }
+}
@@ -16,8 +16,11 @@ import androidx.appcompat.app.AppCompatActivity;
 import com.google.android.gms.auth.api.signin.GoogleSignIn;
 import com.google.android.gms.auth.api.signin.GoogleSignInClient;
 import com.google.android.gms.auth.api.signin.GoogleSignInOptions;
-import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class MainActivity extends AppCompatActivity {
 
@@ -26,8 +29,11 @@ public class MainActivity extends AppCompatActivity {
     private TextView tvCurrentLevel;
     private TextView tvMoves;
     private TextView tvAlgorithmTime; // added timer TextView
+    private TextView tvDistance;
+    private TextView tvStats;
     private MazeView mazeView;
     private Maze maze;
+    private DistanceField distanceField; // BFS from the exit, filled once per maze
     private DBHelper dbHelper;
     private int currentLevel = 1;
     private int mazeSize;
@@ -39,9 +45,26 @@ public class MainActivity extends AppCompatActivity {
     private Runnable timerRunnable;
     private int algorithmSeconds = 0; // seconds elapsed for current algorithm run
 
+    private Handler replayHandler = new Handler();
+    private Runnable replayRunnable; // pending step of the solver replay, if any
+    private SolverRun solverRun;
+
+    // Finished searches by maze walls, algorithm and endpoints: pressing Solve again replays from here
+    private final SolutionCache solutionCache = new SolutionCache(32, 16L * 1024 * 1024);
+
+    // Chase mode: chasers step towards the player on every tick
+    private Handler pursuitHandler = new Handler();
+    private Runnable pursuitRunnable;
+    private static final int PURSUIT_TICK_MS = 500;
+
     private static final int MAX_LEVEL = 8;
     private static final int REQUEST_CODE_LEVEL_SELECT = 100;
     private static final String PREFS_NAME = "MazePrefs";
+    private static final String RACE_OPTION = "Race (all algorithms)";
+
+    // Race mode runs every solver at once, off the UI thread
+    private final ExecutorService raceExecutor =
+            Executors.newFixedThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors()));
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -53,11 +76,15 @@ public class MainActivity extends AppCompatActivity {
         tvCurrentLevel = findViewById(R.id.tvCurrentLevel);
         tvMoves = findViewById(R.id.tvMoves);
         tvAlgorithmTime = findViewById(R.id.tvTimer); // link timer TextView
+        tvDistance = findViewById(R.id.tvDistance);
+        tvStats = findViewById(R.id.tvStats);
         spinnerAlgorithm = findViewById(R.id.spinnerAlgorithm);
 
+        List<String> algorithmNames = SolverRegistry.names();
+        algorithmNames.add(RACE_OPTION);
         ArrayAdapter<String> adapter = new ArrayAdapter<>(this,
                 android.R.layout.simple_spinner_item,
-                new String[]{"A*", "Greedy First Search"});
+                algorithmNames);
         adapter.setDropDownViewResource(android.R.layout.simple_spinner_dropdown_item);
         spinnerAlgorithm.setAdapter(adapter);
 
@@ -66,6 +93,8 @@ public class MainActivity extends AppCompatActivity {
         Button btnSave = findViewById(R.id.saveButton);
         Button btnLevelSelect = findViewById(R.id.btnLevelSelect);
         Button btnLogout = findViewById(R.id.btnLogout);
+        Button btnHint = findViewById(R.id.btnHint);
+        Button btnChase = findViewById(R.id.btnChase);
 
         SharedPreferences prefs = getSharedPreferences("LoginPrefs", MODE_PRIVATE);
         if (!prefs.getBoolean("loggedIn", false)) {
@@ -111,6 +140,17 @@ public class MainActivity extends AppCompatActivity {
 
         btnSolve.setOnClickListener(v -> solveMazeAnimated());
 
+        btnHint.setOnClickListener(v -> {
+            if (!mazeView.showHint()) {
+                Toast.makeText(MainActivity.this, "No hint available here.", Toast.LENGTH_SHORT).show();
+            }
+        });
+
+        btnChase.setOnClickListener(v -> {
+            if (pursuitRunnable != null) stopPursuit();
+            else startPursuit();
+        });
+
         btnSave.setOnClickListener(v -> {
             if (!isMazeSolved) {
                 Toast.makeText(MainActivity.this, "Complete the level before saving.", Toast.LENGTH_SHORT).show();
@@ -169,7 +209,11 @@ public class MainActivity extends AppCompatActivity {
     }
 
     private void generateMaze() {
+        stopReplay(); // a replay of the old maze must not keep drawing on the new one
+        stopPursuit();
+        showStats(null);
         maze = new Maze(mazeSize, mazeSize, currentLevel);
+        distanceField = DistanceField.toExit(maze);
 
         if (mazeView != null) {
             rootLayout.removeView(mazeView);
@@ -177,12 +221,16 @@ public class MainActivity extends AppCompatActivity {
 
         mazeView = new MazeView(this, maze, null);
         mazeView.setOnMazeSolvedListener(() -> {
+            stopPursuit();
             isMazeSolved = true;
             mazeView.setMovable(false);
             onLevelCompleted();
         });
 
         mazeView.setOnMoveListener(count -> tvMoves.setText("Moves: " + count));
+        mazeView.setDistanceField(distanceField);
+        mazeView.setOnPlayerMovedListener(this::updateDistance);
+        updateDistance(mazeView.getPlayerPosition());
 
         RelativeLayout.LayoutParams mazeParams = new RelativeLayout.LayoutParams(
                 RelativeLayout.LayoutParams.MATCH_PARENT,
@@ -196,13 +244,26 @@ public class MainActivity extends AppCompatActivity {
         findViewById(R.id.btnReset).bringToFront();
         findViewById(R.id.btnSolve).bringToFront();
         findViewById(R.id.btnLevelSelect).bringToFront();
+        findViewById(R.id.btnChase).bringToFront();
+        findViewById(R.id.btnHint).bringToFront();
+        tvDistance.bringToFront();
+        tvStats.bringToFront();
         spinnerAlgorithm.bringToFront();
     }
 
+    // Live readout from the precomputed field: one array lookup per move
+    private void updateDistance(Cell position) {
+        tvDistance.setText("Exit: " + distanceField.distance(position) + " moves");
+    }
+
     private void solveMazeAnimated() {
-        String algorithm = spinnerAlgorithm.getSelectedItem().toString();
+        if (spinnerAlgorithm.getSelectedItem().toString().equals(RACE_OPTION)) {
+            raceAlgorithms();
+            return;
+        }
+        SolverAlgorithm algorithm = SolverRegistry.byName(spinnerAlgorithm.getSelectedItem().toString());
 
-        mazeView.setAlgorithm(algorithm.equals("Greedy First Search")); // this will automatically call updateAlgorithmColors()
+        mazeView.setAlgorithm(algorithm == SolverRegistry.GREEDY); // this will automatically call updateAlgorithmColors()
 
         // Reset move count and timer for this algorithm run
         mazeView.resetMoveCount();
@@ -210,54 +271,140 @@ public class MainActivity extends AppCompatActivity {
         resetAlgorithmTimer();
         startAlgorithmTimer();
 
-        Solver solver = new Solver(maze);
-        List<Solver.Step> steps;
+        stopReplay();
+        stopPursuit();
+        Cell start = maze.cell(0, 0);
+        Cell goal = maze.cell(mazeSize - 1, mazeSize - 1);
+        final SolutionCache.Key cacheKey = SolutionCache.key(maze, algorithm, start.index(), goal.index());
+        SearchTrace cached = solutionCache.get(cacheKey);
 
-        if (algorithm.equals("Greedy First Search")) {
-            steps = solver.solveWithGreedyAnimated(
-                    maze.grid[0][0],
-                    maze.grid[mazeSize - 1][mazeSize - 1]
-            );
+        final int delay = 100;
+        final SearchTrace trace;
+        if (cached != null) {
+            trace = cached;
         } else {
-            steps = solver.solveWithAStarAnimated(
-                    maze.grid[0][0],
-                    maze.grid[mazeSize - 1][mazeSize - 1]
-            );
+            // The search runs lazily: each frame the cursor pulls one more expansion
+            solverRun = new Solver(maze).start(algorithm, start, goal);
+            trace = solverRun.trace();
         }
-
-        final Handler handler = new Handler();
-        final int delay = 100;
+        final SearchTrace.Cursor cursor = trace.cursor();
 
         mazeView.resetAnimatedSteps();
         mazeView.setSolvingMode(true);
-        mazeView.setOpenSet(new HashSet<>());
-        mazeView.setClosedSet(new HashSet<>());
-
-        for (int i = 0; i < steps.size(); i++) {
-            final int index = i;
-            handler.postDelayed(() -> {
-                Solver.Step step = steps.get(index);
-
-                mazeView.setOpenSet(step.openSet);
-                mazeView.setClosedSet(step.closedSet);
-                mazeView.setPlayerPosition(step.current);
-
-                if (step.finalPath != null) {
-                    mazeView.resetAnimatedSteps();
-                    for (Cell cell : step.finalPath) {
-                        mazeView.addAnimatedStep(cell); // increments moveCount only for final path
-                    }
-
-                    stopAlgorithmTimer(); // ✅ stop timer when algorithm finishes
-
-                    isMazeSolved = true;
-                    mazeView.setMovable(false);
-                    Toast.makeText(MainActivity.this,
-                            "Maze solved with " + (algorithm.equals("A*") ? "A*" : "Greedy First Search"),
-                            Toast.LENGTH_SHORT).show();
+        mazeView.setSearch(cursor);
+
+        // Replays one step per frame from the trace instead of posting every step up front
+        replayRunnable = new Runnable() {
+            @Override
+            public void run() {
+                if (cursor.advance()) {
+                    mazeView.setPlayerPosition(maze.cellAt(cursor.current()));
+                    replayHandler.postDelayed(this, delay);
+                    return;
                 }
-            }, i * delay);
+
+                replayRunnable = null;
+                solutionCache.put(cacheKey, trace);
+                mazeView.setAnimatedPath(Path.of(maze, trace.path())); // increments moveCount only for final path
+
+                stopAlgorithmTimer(); // ✅ stop timer when algorithm finishes
+                showStats(trace.stats());
+
+                isMazeSolved = true;
+                mazeView.setMovable(false);
+                Toast.makeText(MainActivity.this,
+                        "Maze solved with " + algorithm.name(),
+                        Toast.LENGTH_SHORT).show();
+            }
+        };
+        replayHandler.postDelayed(replayRunnable, delay);
+    }
+
+    // Real compute cost of the search, unlike the animation timer
+    private void showStats(SolverStats stats) {
+        if (stats == null) {
+            tvStats.setText("");
+            return;
         }
+        String allocated = stats.allocatedBytes == SolverStats.UNKNOWN ? "" : ", " + stats.allocatedBytes / 1024 + " KB";
+        tvStats.setText(String.format(Locale.ROOT, "%.2f ms, %d expanded, %d generated, peak open %d%s",
+                stats.nanos / 1e6, stats.expanded, stats.generated, stats.peakOpen, allocated));
+    }
+
+    private void stopReplay() {
+        if (replayRunnable != null) {
+            replayHandler.removeCallbacks(replayRunnable);
+            replayRunnable = null;
+        }
+        if (solverRun != null) {
+            solverRun.cancel(); // stops the search too, not just the animation
+            solverRun = null;
+        }
+    }
+
+    // One chaser per level, spawned at least half a maze's width of moves away
+    private void startPursuit() {
+        if (isMazeSolved) return;
+        Pursuit pursuit = Pursuit.spawn(maze, currentLevel, mazeView.getPlayerPosition().index(),
+                mazeSize / 2, System.nanoTime());
+        mazeView.setPursuit(pursuit);
+        pursuitRunnable = new Runnable() {
+            @Override
+            public void run() {
+                if (mazeView.tickPursuit()) {
+                    stopPursuit();
+                    Toast.makeText(MainActivity.this, "Caught! Back to the start.", Toast.LENGTH_SHORT).show();
+                    mazeView.resetPlayer();
+                    return;
+                }
+                pursuitHandler.postDelayed(this, PURSUIT_TICK_MS);
+            }
+        };
+        pursuitHandler.postDelayed(pursuitRunnable, PURSUIT_TICK_MS);
+    }
+
+    private void stopPursuit() {
+        if (pursuitRunnable != null) {
+            pursuitHandler.removeCallbacks(pursuitRunnable);
+            pursuitRunnable = null;
+        }
+        if (mazeView != null) mazeView.setPursuit(null);
+    }
+
+    private void raceAlgorithms() {
+        final Maze racedMaze = maze;
+        Toast.makeText(this, "Racing all algorithms...", Toast.LENGTH_SHORT).show();
+
+        int goal = racedMaze.cellCount() - 1;
+        SolverRace.race(racedMaze, 0, goal, raceExecutor)
+                .thenCompose(order -> CompletableFuture
+                        .supplyAsync(() -> SolverRace.measure(racedMaze, 0, goal), raceExecutor)
+                        .thenAccept(results -> runOnUiThread(() -> showRaceResults(racedMaze, order, results))));
+    }
+
+    // Finish order is from the concurrent race, timings from the runs measured one at a time
+    private void showRaceResults(Maze racedMaze, List<SolverAlgorithm> order, List<SolverRace.Result> results) {
+        if (racedMaze != maze || isFinishing()) return; // maze changed while racing
+
+        StringBuilder message = new StringBuilder("Finish order:");
+        for (SolverAlgorithm algorithm : order) {
+            message.append(' ').append(algorithm.name()).append(',');
+        }
+        message.setLength(message.length() - 1);
+        message.append("\n\n");
+        for (SolverRace.Result result : results) {
+            message.append(result).append("\n\n");
+        }
+        SolverRace.Result fastest = SolverRace.fastest(results, true);
+        if (fastest != null) {
+            message.append("Fastest shortest-path solver: ").append(fastest.algorithm.name());
+        }
+
+        new AlertDialog.Builder(MainActivity.this)
+                .setTitle("Race results")
+                .setMessage(message.toString())
+                .setPositiveButton("OK", null)
+                .show();
     }
 
     // Timer helper methods
@@ -354,4 +501,13 @@ public class MainActivity extends AppCompatActivity {
             }
         }
     }
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        stopReplay();
+        stopPursuit();
+        stopAlgorithmTimer();
+        raceExecutor.shutdownNow();
+    }
 }
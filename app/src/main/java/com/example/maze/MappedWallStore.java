@@ -0,0 +1,128 @@
+package com.example.maze;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+// Off-heap store backed by a memory-mapped file, one byte per cell. Pages are
+// only brought in where generators and solvers actually touch the grid, and the
+// file can be reopened later without reading it into the heap.
+//
+// Layout: a HEADER_BYTES header (magic, version, rows, cols, level, seed,
+// generator code) followed by the cells in row-major order. A single mapping is
+// limited to 2 GB, so the cells are mapped in 1 GB chunks. Only absolute get/put
+// are used, which never touch a buffer's position, so disjoint cells can be
+// written from several threads (TiledGenerator).
+public class MappedWallStore implements WallStore {
+    static final int HEADER_BYTES = 64;
+    private static final int MAGIC = 0x4D5A5753;  // "MZWS"
+    private static final int VERSION = 1;
+    private static final int CHUNK_BITS = 30;
+    private static final int CHUNK_MASK = (1 << CHUNK_BITS) - 1;
+
+    private final MappedByteBuffer header;
+    private final MappedByteBuffer[] chunks;
+    private final int size;
+
+    private MappedWallStore(FileChannel channel, int size) throws IOException {
+        this.size = size;
+        header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+        int chunkCount = (int) (((long) size + CHUNK_MASK) >>> CHUNK_BITS);
+        chunks = new MappedByteBuffer[chunkCount];
+        for (int i = 0; i < chunkCount; i++) {
+            long start = (long) i << CHUNK_BITS;
+            long length = Math.min(1L << CHUNK_BITS, size - start);
+            chunks[i] = channel.map(FileChannel.MapMode.READ_WRITE, HEADER_BYTES + start, length);
+        }
+    }
+
+    // Creates (or truncates) `file` for a rows x cols maze and writes its header.
+    // Cell bytes start out zeroed; the caller fills them.
+    public static MappedWallStore create(File file, int rows, int cols, int level, long seed,
+                                         GeneratorType generator) throws IOException {
+        int cells;
+        try {
+            cells = Math.multiplyExact(rows, cols);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Maze too large for int cell indices: " + rows + "x" + cols, e);
+        }
+
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(0);
+            raf.setLength(HEADER_BYTES + (long) cells);
+            MappedWallStore store = new MappedWallStore(raf.getChannel(), cells);
+            store.header.putInt(0, MAGIC);
+            store.header.putInt(4, VERSION);
+            store.header.putInt(8, rows);
+            store.header.putInt(12, cols);
+            store.header.putInt(16, level);
+            store.header.putLong(20, seed);
+            store.header.put(28, (byte) generator.code);
+            return store;
+        }
+    }
+
+    public static MappedWallStore open(File file) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            if (raf.length() < HEADER_BYTES || raf.readInt() != MAGIC) {
+                throw new IOException("Not a mapped maze file: " + file);
+            }
+            int version = raf.readInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported mapped maze version " + version + " in " + file);
+            }
+            int rows = raf.readInt();
+            int cols = raf.readInt();
+            long cells = (long) rows * cols;
+            if (rows <= 0 || cols <= 0 || cells > Integer.MAX_VALUE || raf.length() != HEADER_BYTES + cells) {
+                throw new IOException("Corrupt mapped maze header in " + file);
+            }
+            return new MappedWallStore(raf.getChannel(), (int) cells);
+        }
+    }
+
+    public int rows() {
+        return header.getInt(8);
+    }
+
+    public int cols() {
+        return header.getInt(12);
+    }
+
+    public int level() {
+        return header.getInt(16);
+    }
+
+    public long seed() {
+        return header.getLong(20);
+    }
+
+    public GeneratorType generator() {
+        return GeneratorType.fromCode((char) header.get(28));
+    }
+
+    @Override
+    public int get(int index) {
+        return chunks[index >>> CHUNK_BITS].get(index & CHUNK_MASK);
+    }
+
+    @Override
+    public void set(int index, int bits) {
+        chunks[index >>> CHUNK_BITS].put(index & CHUNK_MASK, (byte) bits);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void flush() {
+        header.force();
+        for (MappedByteBuffer chunk : chunks) {
+            chunk.force();
+        }
+    }
+}
@@ -1,174 +1,416 @@
 package com.example.maze;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.*;
 
 public class Maze {
     public int rows, cols;
-    public Cell[][] grid;
     private int level;
+    private final long seed;
+    private final GeneratorType generator;
+
+    // Single PRNG for every random choice made while building the maze, so the
+    // same (seed, size, level, generator) always produces the same walls
+    private final SplittableRandom rand;
+
+    // One nibble per cell holding the TOP/RIGHT/BOTTOM/LEFT wall bits (see Direction.bit()).
+    // Shared walls are mirrored in both cells so a lookup never has to touch the neighbour.
+    private final WallStore walls;
+
+    static final byte ALL_WALLS = 0x0F;
+
+    // Notified of interior wall changes; null until the first listener registers,
+    // so generation pays nothing for it
+    private List<WallChangeListener> wallListeners;
+
+    // ALT landmark distances, built on first use and dropped by any wall change
+    private Landmarks landmarks;
+
+    // Bumped by every interior wall change, so holders of structures derived from
+    // the walls (corridor and cluster graphs) can tell theirs is stale
+    private int wallVersion;
 
     public Maze(int rows, int cols, int level) {
+        this(rows, cols, level, new SplittableRandom().nextLong());
+    }
+
+    public Maze(int rows, int cols, int level, long seed) {
+        this(rows, cols, level, seed, GeneratorType.forLevel(level));
+    }
+
+    public Maze(int rows, int cols, int level, long seed, GeneratorType generator) {
+        this(rows, cols, level, seed, generator, newWallStore(rows * cols));
+        build();
+    }
+
+    // Wraps an existing wall store as-is, without running a generator
+    Maze(int rows, int cols, int level, long seed, GeneratorType generator, WallStore walls) {
         this.rows = rows;
         this.cols = cols;
         this.level = level;
-        grid = new Cell[rows][cols];
+        this.seed = seed;
+        this.generator = generator;
+        this.walls = walls;
+        rand = new SplittableRandom(seed);
+    }
 
-        for (int r = 0; r < rows; r++)
-            for (int c = 0; c < cols; c++)
-                grid[r][c] = new Cell(r, c);
+    // Fresh on-heap store for a rows * cols grid with every wall up
+    static WallStore newWallStore(int cells) {
+        WallStore walls = new ArrayWallStore(cells);
+        fillAllWalls(walls);
+        return walls;
+    }
 
-        if (level <= 2) {
-            generateMazeDFS();  // Simple DFS for early levels
-        } else {
-            generateMazePrim();  // Complex maze for higher levels
+    private static void fillAllWalls(WallStore walls) {
+        for (int i = 0, n = walls.size(); i < n; i++) {
+            walls.set(i, ALL_WALLS);
         }
+    }
+
+    private void build() {
+        generator.engine().generate(this, rand);
 
         // Add loops based on level to create multiple solution paths
-        int loopsToAdd = Math.min(level * 5, (rows * cols) / 4);
+        int loopsToAdd = (int) Math.min(level * 5L, cellCount() / 4);
         addLoops(loopsToAdd);
 
-        grid[0][0].walls.put(Direction.TOP, false); // Entrance open
-        grid[rows - 1][cols - 1].walls.put(Direction.BOTTOM, false);// open ending
+        clearWall(0, 0, Direction.TOP); // Entrance open
+        clearWall(rows - 1, cols - 1, Direction.BOTTOM); // open ending
     }
 
-    // ===================== DFS GENERATION =====================
-    private void generateMazeDFS() {
-        Stack<Cell> stack = new Stack<>();
-        Cell start = grid[0][0];
-        start.visited = true;
-        stack.push(start);
+    // ===================== MAPPED BACKEND =====================
+    // Generates a maze straight into a memory-mapped file instead of the heap. Pair it
+    // with a generator whose scratch does not grow with the grid (ELLER, TILED_DFS,
+    // TILED_PRIM, DIVISION) to build grids much larger than the available heap.
+    //
+    // Only the walls are off-heap. The generator's scratch is still on the heap, so
+    // a pairing that cannot fit is refused with IllegalStateException before the
+    // file is created. Solving needs heap per cell too: 16 bytes of search scratch
+    // plus 2 for a recorded trace, 8 for a DistanceField, 3-4 for the cluster graph
+    // behind Solver.solveHierarchical, the cheapest option for such grids. Each of
+    // them is refused the same way when the heap cannot hold it.
+    public static Maze createMapped(File file, int rows, int cols, int level, long seed,
+                                    GeneratorType generator) throws IOException {
+        HeapBudget.requireBytes(generator.engine().scratchBytes(rows, cols), generator + " generator scratch");
+        MappedWallStore store = MappedWallStore.create(file, rows, cols, level, seed, generator);
+        fillAllWalls(store);
+        Maze maze = new Maze(rows, cols, level, seed, generator, store);
+        maze.build();
+        store.flush();
+        return maze;
+    }
 
-        while (!stack.isEmpty()) {
-            Cell current = stack.peek();
-            List<Cell> neighbors = getUnvisitedNeighbors(current);
+    // Reopens a maze written by createMapped(); cells are paged in on first access
+    public static Maze openMapped(File file) throws IOException {
+        MappedWallStore store = MappedWallStore.open(file);
+        return new Maze(store.rows(), store.cols(), store.level(), store.seed(), store.generator(), store);
+    }
 
-            if (!neighbors.isEmpty()) {
-                Cell next = neighbors.get(new Random().nextInt(neighbors.size()));
-                removeWalls(current, next);
-                next.visited = true;
-                stack.push(next);
-            } else {
-                stack.pop();
-            }
-        }
+    // Writes pending changes of a mapped maze back to its file
+    public void flush() {
+        walls.flush();
+    }
+
+    public static Maze fromLevelCode(String code) {
+        return LevelCode.parse(code).build();
+    }
+
+    public String levelCode() {
+        return LevelCode.of(this).toString();
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public GeneratorType getGenerator() {
+        return generator;
+    }
+
+    // ===================== WALL ACCESSORS =====================
+    public int index(int r, int c) {
+        return r * cols + c;
+    }
+
+    public int rowOf(int index) {
+        return index / cols;
+    }
+
+    public int colOf(int index) {
+        return index % cols;
+    }
+
+    public int cellCount() {
+        return walls.size();
+    }
+
+    public Cell cell(int r, int c) {
+        return new Cell(this, r, c);
+    }
+
+    public Cell cellAt(int index) {
+        return new Cell(this, rowOf(index), colOf(index));
+    }
+
+    public boolean hasWall(int r, int c, Direction dir) {
+        return (walls.get(r * cols + c) & dir.bit()) != 0;
+    }
+
+    public boolean hasWall(int index, Direction dir) {
+        return (walls.get(index) & dir.bit()) != 0;
     }
 
-    // ===================== PRIM’S GENERATION =====================
-    private void generateMazePrim() {
-        Set<Cell> visited = new HashSet<>();
-        List<Edge> walls = new ArrayList<>();
-        Cell start = grid[0][0];
-        visited.add(start);
+    // Raw wall nibble of a cell, for callers that test several directions at once
+    public int wallBits(int index) {
+        return walls.get(index);
+    }
 
-        for (Cell neighbor : getUnvisitedNeighbors(start)) {
-            walls.add(new Edge(start, neighbor));
+    // 64-bit FNV-1a hash of the size and every wall nibble: equal walls give equal
+    // hashes whatever the seed or generator. O(cells), nothing is cached.
+    public long contentHash() {
+        long h = 0xcbf29ce484222325L;
+        h = (h ^ rows) * 0x100000001b3L;
+        h = (h ^ cols) * 0x100000001b3L;
+        int cells = cellCount();
+        for (int i = 0; i < cells; i++) {
+            h = (h ^ walls.get(i)) * 0x100000001b3L;
         }
+        return h;
+    }
 
-        Random rand = new Random();
+    // Landmarks for the ALT heuristic; the first call pays DEFAULT_COUNT BFS passes
+    public synchronized Landmarks landmarks() {
+        if (landmarks == null) landmarks = Landmarks.select(this, Landmarks.DEFAULT_COUNT);
+        return landmarks;
+    }
 
-        while (!walls.isEmpty()) {
-            Edge edge = walls.remove(rand.nextInt(walls.size()));
-            Cell current = edge.to;
+    // Index of the cell next to `index` in `dir`, or -1 when that would leave the grid
+    public int neighbor(int index, Direction dir) {
+        int r = index / cols + dir.rowOffset();
+        int c = index % cols + dir.colOffset();
+        if (r < 0 || r >= rows || c < 0 || c >= cols) return -1;
+        return r * cols + c;
+    }
 
-            if (!visited.contains(current)) {
-                removeWalls(edge.from, current);
-                visited.add(current);
+    // Writes the in-grid neighbours reachable from `index` into `out` (length >= 4), returns how many
+    public int openNeighbors(int index, int[] out) {
+        int bits = walls.get(index);
+        int r = index / cols, c = index % cols;
+        int n = 0;
+        if ((bits & 1) == 0 && r > 0) out[n++] = index - cols;            // TOP
+        if ((bits & 2) == 0 && c < cols - 1) out[n++] = index + 1;        // RIGHT
+        if ((bits & 4) == 0 && r < rows - 1) out[n++] = index + cols;     // BOTTOM
+        if ((bits & 8) == 0 && c > 0) out[n++] = index - 1;               // LEFT
+        return n;
+    }
 
-                for (Cell neighbor : getUnvisitedNeighbors(current)) {
-                    if (!visited.contains(neighbor)) {
-                        walls.add(new Edge(current, neighbor));
-                    }
-                }
-            }
+    // ===================== MUTATION =====================
+    // Opens the wall on this side of the cell and the matching wall of its neighbour
+    public void removeWall(int r, int c, Direction dir) {
+        int nr = r + dir.rowOffset();
+        int nc = c + dir.colOffset();
+        if (nr >= 0 && nr < rows && nc >= 0 && nc < cols) {
+            removeWalls(r * cols + c, nr * cols + nc);
+        } else {
+            clearWall(r, c, dir);
         }
     }
 
-    private static class Edge {
-        Cell from, to;
+    // Puts the wall on this side of the cell back up, on both sides
+    public void addWall(int r, int c, Direction dir) {
+        int nr = r + dir.rowOffset();
+        int nc = c + dir.colOffset();
+        if (nr >= 0 && nr < rows && nc >= 0 && nc < cols) {
+            addWalls(r * cols + c, nr * cols + nc);
+        } else {
+            int index = r * cols + c;
+            walls.set(index, walls.get(index) | dir.bit());
+        }
+    }
 
-        Edge(Cell from, Cell to) {
-            this.from = from;
-            this.to = to;
+    // Flips the wall and returns true if it is now standing
+    public boolean toggleWall(int r, int c, Direction dir) {
+        if (hasWall(r, c, dir)) {
+            removeWall(r, c, dir);
+            return false;
         }
+        addWall(r, c, dir);
+        return true;
     }
 
-    // ===================== ADD LOOPS =====================
-    public void addLoops(int extraConnections) {
-        Random rand = new Random();
-        int attempts = 0;
-        int added = 0;
-        int maxAttempts = extraConnections * 10;
+    public void addWallChangeListener(WallChangeListener listener) {
+        if (wallListeners == null) wallListeners = new ArrayList<>();
+        wallListeners.add(listener);
+    }
 
-        while (added < extraConnections && attempts < maxAttempts) {
-            attempts++;
+    public void removeWallChangeListener(WallChangeListener listener) {
+        if (wallListeners != null) wallListeners.remove(listener);
+    }
 
-            int r = rand.nextInt(rows);
-            int c = rand.nextInt(cols);
+    private void clearWall(int r, int c, Direction dir) {
+        int index = r * cols + c;
+        walls.set(index, walls.get(index) & ~dir.bit());
+    }
 
-            // Skip start and end cells for consistency
-            if ((r == 0 && c == 0) || (r == rows - 1 && c == cols - 1)) continue;
+    // ===================== ADD LOOPS =====================
+    // Removes exactly min(extraConnections, remaining interior walls) walls chosen
+    // uniformly at random, and returns how many were removed.
+    //
+    // Fast path: draw random interior wall slots and keep the ones still standing.
+    // A perfect maze has about half its interior walls up, so this averages two
+    // draws per loop with no scan and no allocation. If the draw budget runs out
+    // (a heavily braided maze), the rest come from an index of the walls still
+    // standing, sampled without replacement by a partial Fisher-Yates shuffle.
+    public int addLoops(int extraConnections) {
+        if (extraConnections <= 0) return 0;
+
+        int horizontal = rows * (cols - 1);
+        int slots = horizontal + (rows - 1) * cols;
+        if (slots <= 0) return 0;
 
-            Cell cell = grid[r][c];
+        int added = 0;
+        int budget = 4 * extraConnections + 32;
+        while (added < extraConnections && budget-- > 0) {
+            int slot = rand.nextInt(slots);
+            boolean right = slot < horizontal;
+            int cell = right ? (slot / (cols - 1)) * cols + slot % (cols - 1) : slot - horizontal;
+            Direction side = right ? Direction.RIGHT : Direction.BOTTOM;
+            if ((walls.get(cell) & side.bit()) != 0) {
+                removeWalls(cell, right ? cell + 1 : cell + cols);
+                added++;
+            }
+        }
 
-            // Shuffle directions to randomize wall removal
-            List<Direction> directions = new ArrayList<>(Arrays.asList(Direction.values()));
-            Collections.shuffle(directions);
+        if (added < extraConnections) {
+            int[] candidates = standingInteriorWalls();
+            int k = Math.min(extraConnections - added, candidates.length);
+            removeRandomWalls(candidates, candidates.length, k);
+            added += k;
+        }
+        return added;
+    }
 
-            boolean removedWall = false;
-            for (Direction dir : directions) {
-                int nr = r + dir.rowOffset();
-                int nc = c + dir.colOffset();
+    // Removes the given fraction (0..1) of the interior walls still standing
+    public int addLoopsByDensity(double density) {
+        if (density <= 0) return 0;
+        int[] candidates = standingInteriorWalls();
+        int k = (int) Math.round(Math.min(density, 1.0) * candidates.length);
+        removeRandomWalls(candidates, candidates.length, k);
+        return k;
+    }
 
-                if (nr >= 0 && nr < rows && nc >= 0 && nc < cols) {
-                    Cell neighbor = grid[nr][nc];
+    // Interior walls still up, encoded as cell * 2 for the RIGHT wall and cell * 2 + 1 for the BOTTOM wall
+    private int[] standingInteriorWalls() {
+        int count = 0;
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                int bits = walls.get(r * cols + c);
+                if (c < cols - 1 && (bits & Direction.RIGHT.bit()) != 0) count++;
+                if (r < rows - 1 && (bits & Direction.BOTTOM.bit()) != 0) count++;
+            }
+        }
 
-                    // Only remove wall if it exists
-                    if (cell.walls.get(dir)) {
-                        cell.walls.put(dir, false);
-                        neighbor.walls.put(dir.opposite(), false);
-                        removedWall = true;
-                        break;  // Remove only one wall per attempt
-                    }
-                }
+        int[] candidates = new int[count];
+        int n = 0;
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                int cell = r * cols + c;
+                int bits = walls.get(cell);
+                if (c < cols - 1 && (bits & Direction.RIGHT.bit()) != 0) candidates[n++] = cell * 2;
+                if (r < rows - 1 && (bits & Direction.BOTTOM.bit()) != 0) candidates[n++] = cell * 2 + 1;
             }
+        }
+        return candidates;
+    }
+
+    private void removeRandomWalls(int[] candidates, int size, int k) {
+        for (int i = 0; i < k; i++) {
+            int j = i + rand.nextInt(size - i);
+            int wall = candidates[j];
+            candidates[j] = candidates[i];
 
-            if (removedWall) added++;
+            int cell = wall >>> 1;
+            removeWalls(cell, (wall & 1) == 0 ? cell + 1 : cell + cols);
         }
     }
 
-    // ===================== COMMON HELPERS =====================
-    private List<Cell> getUnvisitedNeighbors(Cell cell) {
-        List<Cell> neighbors = new ArrayList<>();
-        int r = cell.row, c = cell.col;
+    // ===================== GENERATOR HELPERS =====================
+    // Used by MazeGenerator engines, which work on cell indices of orthogonally adjacent cells
+
+    void removeWalls(int a, int b) {
+        Direction dir = directionBetween(a, b);
+        walls.set(a, walls.get(a) & ~dir.bit());
+        walls.set(b, walls.get(b) & ~dir.opposite().bit());
+        wallsChanged();
+        if (wallListeners != null) fireWallChanged(a, b, false);
+    }
+
+    // Tile engines carve on pool workers, so this touches nothing but the two
+    // cells; whoever drives the workers calls wallsChanged() once afterwards
+    void carveWalls(int a, int b) {
+        Direction dir = directionBetween(a, b);
+        walls.set(a, walls.get(a) & ~dir.bit());
+        walls.set(b, walls.get(b) & ~dir.opposite().bit());
+    }
 
-        if (r > 0 && !grid[r - 1][c].visited) neighbors.add(grid[r - 1][c]);
-        if (r < rows - 1 && !grid[r + 1][c].visited) neighbors.add(grid[r + 1][c]);
-        if (c > 0 && !grid[r][c - 1].visited) neighbors.add(grid[r][c - 1]);
-        if (c < cols - 1 && !grid[r][c + 1].visited) neighbors.add(grid[r][c + 1]);
+    void addWalls(int a, int b) {
+        Direction dir = directionBetween(a, b);
+        walls.set(a, walls.get(a) | dir.bit());
+        walls.set(b, walls.get(b) | dir.opposite().bit());
+        wallsChanged();
+        if (wallListeners != null) fireWallChanged(a, b, true);
+    }
 
-        return neighbors;
+    private void fireWallChanged(int a, int b, boolean blocked) {
+        for (WallChangeListener listener : wallListeners) {
+            listener.onWallChanged(a, b, blocked);
+        }
     }
 
-    private void removeWalls(Cell a, Cell b) {
-        int dx = b.col - a.col;
-        int dy = b.row - a.row;
+    void setWallBits(int index, int bits) {
+        walls.set(index, bits);
+        wallsChanged();
+    }
 
-        if (dx == 1) {
-            a.walls.put(Direction.RIGHT, false);
-            b.walls.put(Direction.LEFT, false);
-        } else if (dx == -1) {
-            a.walls.put(Direction.LEFT, false);
-            b.walls.put(Direction.RIGHT, false);
-        } else if (dy == 1) {
-            a.walls.put(Direction.BOTTOM, false);
-            b.walls.put(Direction.TOP, false);
-        } else if (dy == -1) {
-            a.walls.put(Direction.TOP, false);
-            b.walls.put(Direction.BOTTOM, false);
+    // Knocks down every interior wall, leaving only the outer border
+    void openInterior() {
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                int bits = 0;
+                if (r == 0) bits |= Direction.TOP.bit();
+                if (c == cols - 1) bits |= Direction.RIGHT.bit();
+                if (r == rows - 1) bits |= Direction.BOTTOM.bit();
+                if (c == 0) bits |= Direction.LEFT.bit();
+                walls.set(r * cols + c, bits);
+            }
         }
+        wallsChanged();
+    }
+
+    int wallVersion() {
+        return wallVersion;
+    }
+
+    // Not synchronized: wall edits come from one thread at a time, and parallel
+    // tile carving calls this once after its workers have joined
+    void wallsChanged() {
+        landmarks = null;
+        wallVersion++;
+    }
+
+    private Direction directionBetween(int a, int b) {
+        int diff = b - a;
 
-        // Mark cells visited for Prim's algorithm (not necessary for DFS)
-        a.visited = true;
-        b.visited = true;
+        // Vertical first so single-column mazes (cols == 1) resolve correctly
+        if (diff == cols) return Direction.BOTTOM;
+        if (diff == -cols) return Direction.TOP;
+        if (diff == 1) return Direction.RIGHT;
+        if (diff == -1) return Direction.LEFT;
+        throw new IllegalArgumentException("Cells " + a + " and " + b + " are not adjacent");
     }
 }
@@ -0,0 +1,411 @@
+package com.example.maze;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+// Versioned binary format for mazes, used for persistence and transfer.
+//
+//   magic     4 bytes  "MAZE"
+//   version   1 byte   (1)
+//   flags     1 byte   bit 0: body is deflate-compressed
+//   rows, cols, level  unsigned varints
+//   seed      8 bytes  big-endian
+//   generator 1 byte   level-code character of the GeneratorType
+//   body      wall bits, see below
+//   crc32     4 bytes  big-endian, over every byte before it
+//
+// The body stores each shared wall once: the TOP bits of row 0, then for every
+// row the LEFT bit of column 0 followed by a RIGHT and a BOTTOM bit per cell,
+// packed MSB-first with no padding between rows. That is 2 bits per cell, so a
+// 4096x4096 maze is about 4 MB raw. When compressed, the packed bits are cut into
+// 64 KB chunks that are deflated independently and written as varint length +
+// data, ending with a zero length. Deflate's run-length matching is what shrinks
+// braided regions, where long stretches of walls are open.
+//
+// Both directions stream row by row: Writer is a RowSink, so EllerGenerator can
+// encode straight to a file, and read() hands decoded rows to any RowSink.
+public class MazeCodec {
+    public static final int VERSION = 1;
+    public static final int FLAG_DEFLATE = 1;
+
+    private static final int MAGIC = 0x4D415A45;  // "MAZE"
+    private static final int CHUNK_BYTES = 1 << 16;
+
+    public static class Header {
+        public final int rows, cols, level;
+        public final long seed;
+        public final GeneratorType generator;
+
+        public Header(int rows, int cols, int level, long seed, GeneratorType generator) {
+            this.rows = rows;
+            this.cols = cols;
+            this.level = level;
+            this.seed = seed;
+            this.generator = generator;
+        }
+
+        static Header of(Maze maze) {
+            return new Header(maze.rows, maze.cols, maze.getLevel(), maze.getSeed(), maze.getGenerator());
+        }
+    }
+
+    // ===================== ENCODING =====================
+    public static void encode(Maze maze, OutputStream out, boolean compress) throws IOException {
+        Writer writer = new Writer(out, Header.of(maze), compress);
+        byte[] row = new byte[maze.cols];
+        for (int r = 0; r < maze.rows; r++) {
+            for (int c = 0; c < maze.cols; c++) {
+                row[c] = (byte) maze.wallBits(r * maze.cols + c);
+            }
+            writer.acceptRow(r, row);
+        }
+        writer.finish();
+    }
+
+    public static byte[] toBytes(Maze maze, boolean compress) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            encode(maze, out, compress);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);  // in-memory streams never throw
+        }
+        return out.toByteArray();
+    }
+
+    // Streaming encoder: writes the header up front, takes rows in order, then finish()
+    public static class Writer implements RowSink {
+        private final OutputStream out;
+        private final Header header;
+        private final CRC32 crc = new CRC32();
+        private final Deflater deflater;
+
+        private final byte[] chunk = new byte[CHUNK_BYTES];
+        private byte[] packed;
+        private int chunkLength;
+        private int bitBuffer, bitCount;
+        private int nextRow;
+
+        public Writer(OutputStream out, Header header, boolean compress) throws IOException {
+            this.out = out;
+            this.header = header;
+            deflater = compress ? new Deflater(Deflater.BEST_SPEED) : null;
+            packed = compress ? new byte[CHUNK_BYTES + 64] : null;
+
+            byte[] head = new byte[32];
+            int n = 0;
+            n = putInt(head, n, MAGIC);
+            head[n++] = VERSION;
+            head[n++] = (byte) (compress ? FLAG_DEFLATE : 0);
+            n = putVarint(head, n, header.rows);
+            n = putVarint(head, n, header.cols);
+            n = putVarint(head, n, header.level);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                head[n++] = (byte) (header.seed >>> shift);
+            }
+            head[n++] = (byte) header.generator.code;
+            writeOut(head, n);
+        }
+
+        @Override
+        public void acceptRow(int row, byte[] walls) throws IOException {
+            if (row != nextRow || walls.length < header.cols) {
+                throw new IllegalStateException("Expected row " + nextRow + " of width " + header.cols);
+            }
+            if (row == 0) {
+                for (int c = 0; c < header.cols; c++) writeBits((walls[c] & Direction.TOP.bit()) != 0 ? 1 : 0, 1);
+            }
+            writeBits((walls[0] & Direction.LEFT.bit()) != 0 ? 1 : 0, 1);
+            for (int c = 0; c < header.cols; c++) {
+                int bits = walls[c];
+                writeBits(((bits & Direction.RIGHT.bit()) != 0 ? 2 : 0) | ((bits & Direction.BOTTOM.bit()) != 0 ? 1 : 0), 2);
+            }
+            nextRow++;
+        }
+
+        public void finish() throws IOException {
+            if (nextRow != header.rows) {
+                throw new IllegalStateException("Only " + nextRow + " of " + header.rows + " rows written");
+            }
+            if (bitCount > 0) {
+                writeBits(0, 8 - bitCount);
+            }
+            flushChunk();
+            if (deflater != null) {
+                writeOut(new byte[]{0}, 1);  // end of chunks
+                deflater.end();
+            }
+
+            int value = (int) crc.getValue();
+            byte[] trailer = new byte[4];
+            putInt(trailer, 0, value);
+            out.write(trailer);
+            out.flush();
+        }
+
+        private void writeBits(int value, int count) throws IOException {
+            bitBuffer = (bitBuffer << count) | value;
+            bitCount += count;
+            if (bitCount >= 8) {
+                bitCount -= 8;
+                chunk[chunkLength++] = (byte) (bitBuffer >>> bitCount);
+                if (chunkLength == CHUNK_BYTES) flushChunk();
+            }
+        }
+
+        private void flushChunk() throws IOException {
+            if (chunkLength == 0) return;
+            if (deflater == null) {
+                writeOut(chunk, chunkLength);
+            } else {
+                deflater.reset();
+                deflater.setInput(chunk, 0, chunkLength);
+                deflater.finish();
+                int length = 0;
+                while (!deflater.finished()) {
+                    if (length == packed.length) packed = Arrays.copyOf(packed, packed.length * 2);
+                    length += deflater.deflate(packed, length, packed.length - length);
+                }
+                byte[] prefix = new byte[5];
+                writeOut(prefix, putVarint(prefix, 0, length));
+                writeOut(packed, length);
+            }
+            chunkLength = 0;
+        }
+
+        private void writeOut(byte[] bytes, int length) throws IOException {
+            out.write(bytes, 0, length);
+            crc.update(bytes, 0, length);
+        }
+    }
+
+    // ===================== DECODING =====================
+    // Rebuilds an on-heap maze; returns only once the checksum has been verified
+    public static Maze decode(InputStream in) throws IOException {
+        Maze[] result = new Maze[1];
+        read(in, new HeaderAwareSink() {
+            @Override
+            public void acceptHeader(Header header) throws IOException {
+                requireHeap((long) header.rows * header.cols, 1);  // ArrayWallStore: a byte per cell
+                result[0] = new Maze(header.rows, header.cols, header.level, header.seed, header.generator,
+                        new ArrayWallStore(header.rows * header.cols));
+            }
+
+            @Override
+            public void acceptRow(int row, byte[] walls) {
+                Maze maze = result[0];
+                for (int c = 0; c < maze.cols; c++) {
+                    maze.setWallBits(row * maze.cols + c, walls[c]);
+                }
+            }
+        });
+        return result[0];
+    }
+
+    public static Maze fromBytes(byte[] data) throws IOException {
+        return decode(new ByteArrayInputStream(data));
+    }
+
+    // Sink that also wants the header before the first row
+    public interface HeaderAwareSink extends RowSink {
+        void acceptHeader(Header header) throws IOException;
+    }
+
+    // Streams rows to `sink` as they are decoded. The checksum is checked after the
+    // last row, so a sink sees a corrupt stream's rows before read() throws.
+    public static Header read(InputStream in, RowSink sink) throws IOException {
+        Reader reader = new Reader(in);
+        Header header = reader.readHeader();
+        if (sink instanceof HeaderAwareSink) ((HeaderAwareSink) sink).acceptHeader(header);
+
+        int cols = header.cols;
+        requireHeap(cols, 2);  // row and openAbove
+        byte[] row = new byte[cols];
+        boolean[] openAbove = new boolean[cols];
+        for (int c = 0; c < cols; c++) {
+            openAbove[c] = reader.readBits(1) == 0;
+        }
+
+        for (int r = 0; r < header.rows; r++) {
+            boolean openLeft = reader.readBits(1) == 0;
+            for (int c = 0; c < cols; c++) {
+                int pair = reader.readBits(2);
+                int bits = (pair & 2) != 0 ? Direction.RIGHT.bit() : 0;
+                if ((pair & 1) != 0) bits |= Direction.BOTTOM.bit();
+                if (!openAbove[c]) bits |= Direction.TOP.bit();
+                if (!openLeft) bits |= Direction.LEFT.bit();
+                row[c] = (byte) bits;
+                openLeft = (pair & 2) == 0;
+                openAbove[c] = (pair & 1) == 0;
+            }
+            sink.acceptRow(r, row);
+        }
+
+        reader.finish();
+        return header;
+    }
+
+    // The header's sizes are only covered by the checksum at the very end, so a
+    // corrupt header must not get to allocate: what does not fit the heap is
+    // rejected as a bad stream instead of ending in an OutOfMemoryError
+    private static void requireHeap(long cells, int bytesPerCell) throws IOException {
+        try {
+            HeapBudget.require(cells, bytesPerCell, "Maze");
+        } catch (IllegalStateException e) {
+            throw new IOException("Corrupt or oversized maze header: " + e.getMessage(), e);
+        }
+    }
+
+    private static class Reader {
+        private final InputStream in;
+        private final CRC32 crc = new CRC32();
+        private Inflater inflater;
+        private long bodyLeft;  // raw body bytes still to read when uncompressed
+
+        private final byte[] chunk = new byte[CHUNK_BYTES];
+        private byte[] packed;
+        private int chunkLength, chunkPos;
+        private int bitBuffer, bitCount;
+
+        Reader(InputStream in) {
+            this.in = in;
+        }
+
+        Header readHeader() throws IOException {
+            if (readInt() != MAGIC) throw new IOException("Not a maze stream");
+            int version = readByte();
+            if (version != VERSION) throw new IOException("Unsupported maze format version " + version);
+            int flags = readByte();
+
+            long rows = readVarint();
+            long cols = readVarint();
+            int level = (int) readVarint();
+            long seed = 0;
+            for (int i = 0; i < 8; i++) seed = (seed << 8) | readByte();
+            GeneratorType generator;
+            try {
+                generator = GeneratorType.fromCode((char) readByte());
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Corrupt maze header", e);
+            }
+            if (rows <= 0 || cols <= 0 || rows * cols > Integer.MAX_VALUE) {
+                throw new IOException("Corrupt maze header: " + rows + "x" + cols);
+            }
+
+            if ((flags & FLAG_DEFLATE) != 0) {
+                inflater = new Inflater();
+                packed = new byte[CHUNK_BYTES];
+            } else {
+                bodyLeft = (cols + rows + 2 * rows * cols + 7) / 8;
+            }
+            return new Header((int) rows, (int) cols, level, seed, generator);
+        }
+
+        int readBits(int count) throws IOException {
+            if (bitCount < count) {
+                if (chunkPos == chunkLength) nextChunk();
+                bitBuffer = (bitBuffer << 8) | (chunk[chunkPos++] & 0xFF);
+                bitCount += 8;
+            }
+            bitCount -= count;
+            return (bitBuffer >>> bitCount) & ((1 << count) - 1);
+        }
+
+        private void nextChunk() throws IOException {
+            chunkPos = 0;
+            if (inflater == null) {
+                chunkLength = (int) Math.min(CHUNK_BYTES, bodyLeft);
+                if (chunkLength == 0) throw new IOException("Maze body too short");
+                readFully(chunk, chunkLength);
+                bodyLeft -= chunkLength;
+                return;
+            }
+
+            int length = (int) readVarint();
+            if (length <= 0) throw new IOException("Maze body too short");
+            if (length > packed.length) packed = new byte[length];
+            readFully(packed, length);
+            inflater.reset();
+            inflater.setInput(packed, 0, length);
+            try {
+                chunkLength = inflater.inflate(chunk);
+                if (!inflater.finished() || chunkLength == 0) throw new IOException("Corrupt maze chunk");
+            } catch (DataFormatException e) {
+                throw new IOException("Corrupt maze chunk", e);
+            }
+        }
+
+        void finish() throws IOException {
+            if (chunkPos != chunkLength || bodyLeft != 0) throw new IOException("Trailing data in maze body");
+            if (inflater != null) {
+                if (readVarint() != 0) throw new IOException("Trailing data in maze body");
+                inflater.end();
+            }
+
+            long expected = crc.getValue();
+            long actual = 0;
+            for (int i = 0; i < 4; i++) {
+                int b = in.read();
+                if (b < 0) throw new EOFException("Truncated maze stream");
+                actual = (actual << 8) | b;
+            }
+            if (actual != expected) throw new IOException("Maze checksum mismatch");
+        }
+
+        private void readFully(byte[] buffer, int length) throws IOException {
+            int n = 0;
+            while (n < length) {
+                int read = in.read(buffer, n, length - n);
+                if (read < 0) throw new EOFException("Truncated maze stream");
+                n += read;
+            }
+            crc.update(buffer, 0, length);
+        }
+
+        private int readByte() throws IOException {
+            int b = in.read();
+            if (b < 0) throw new EOFException("Truncated maze stream");
+            crc.update(b);
+            return b;
+        }
+
+        private int readInt() throws IOException {
+            return (readByte() << 24) | (readByte() << 16) | (readByte() << 8) | readByte();
+        }
+
+        private long readVarint() throws IOException {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) return value;
+            }
+            throw new IOException("Malformed varint in maze stream");
+        }
+    }
+
+    private static int putInt(byte[] buffer, int offset, int value) {
+        buffer[offset++] = (byte) (value >>> 24);
+        buffer[offset++] = (byte) (value >>> 16);
+        buffer[offset++] = (byte) (value >>> 8);
+        buffer[offset++] = (byte) value;
+        return offset;
+    }
+
+    private static int putVarint(byte[] buffer, int offset, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer[offset++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[offset++] = (byte) value;
+        return offset;
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.maze;
+
+import java.util.SplittableRandom;
+
+// A maze-carving engine. Maze hands it a grid with every wall up and the
+// PRNG seeded from the level, and the engine turns it into a perfect maze.
+public interface MazeGenerator {
+
+    void generate(Maze maze, SplittableRandom rand);
+
+    // Peak scratch memory the engine allocates for a rows x cols grid, in bytes,
+    // not counting the maze's own wall store
+    long scratchBytes(int rows, int cols);
+}
@@ -11,22 +11,27 @@ import android.view.MotionEvent;
 import android.view.View;
 import android.widget.Toast;
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
+import java.util.PrimitiveIterator;
 
 public class MazeView extends View {
     private Maze maze;
-    private List<Cell> path;
-    private List<Cell> animatedSteps = new ArrayList<>();
+    private Path path;
+    private Path animatedPath; // solver result, drawn straight from its packed moves
     private List<Cell> userSteps = new ArrayList<>();
 
-    // New sets for visualizing algorithm states
-    private Set<Cell> openSet = new HashSet<>();
-    private Set<Cell> closedSet = new HashSet<>();
+    // Replay position of a solver trace, for visualizing algorithm states
+    private SearchTrace.Cursor search;
 
     private Paint wallPaint, pathPaint, borderPaint, playerPaint, userPathPaint, solvingPathPaint;
-    private Paint openSetPaint, closedSetPaint;
+    private Paint openSetPaint, closedSetPaint, hintPaint, chaserPaint;
+
+    // Distances to the exit, for hints and the optimal-route check
+    private DistanceField distanceField;
+    private Cell hintCell;
+
+    // Chasers sharing one distance field from the player; null when chase mode is off
+    private Pursuit pursuit;
     private Cell playerPosition;
     private int cellSize;
     private boolean solvingMode = false;
@@ -38,7 +43,7 @@ public class MazeView extends View {
     // Flag to control movement
     private boolean isMovable = true;
 
-    public MazeView(Context context, Maze maze, List<Cell> path) {
+    public MazeView(Context context, Maze maze, Path path) {
         super(context);
         this.maze = maze;
         this.path = path;
@@ -82,7 +87,16 @@ public class MazeView extends View {
         closedSetPaint.setStyle(Paint.Style.FILL);
         closedSetPaint.setAntiAlias(true);
 
-        playerPosition = maze.grid[0][0];
+        hintPaint = new Paint();
+        hintPaint.setColor(Color.parseColor("#F1C40F")); // hint: next optimal cell
+        hintPaint.setStyle(Paint.Style.FILL);
+        hintPaint.setAntiAlias(true);
+
+        chaserPaint = new Paint();
+        chaserPaint.setColor(Color.parseColor("#C0392B")); // chasers
+        chaserPaint.setAntiAlias(true);
+
+        playerPosition = maze.cell(0, 0);
         userSteps.add(playerPosition);
     }
 
@@ -90,7 +104,7 @@ public class MazeView extends View {
     protected void onDraw(Canvas canvas) {
         super.onDraw(canvas);
 
-        if (maze == null || maze.grid == null) return;
+        if (maze == null) return;
 
         cellSize = Math.min(getWidth() / maze.cols, getHeight() / maze.rows);
         int mazeWidth = cellSize * maze.cols;
@@ -101,40 +115,35 @@ public class MazeView extends View {
         // Draw maze walls
         for (int r = 0; r < maze.rows; r++) {
             for (int c = 0; c < maze.cols; c++) {
-                Cell cell = maze.grid[r][c];
+                int walls = maze.wallBits(maze.index(r, c));
                 int x = offsetX + c * cellSize;
                 int y = offsetY + r * cellSize;
 
-                if (cell.walls.get(Direction.TOP))
+                if ((walls & Direction.TOP.bit()) != 0)
                     canvas.drawLine(x, y, x + cellSize, y, wallPaint);
-                if (cell.walls.get(Direction.RIGHT))
+                if ((walls & Direction.RIGHT.bit()) != 0)
                     canvas.drawLine(x + cellSize, y, x + cellSize, y + cellSize, wallPaint);
-                if (cell.walls.get(Direction.BOTTOM))
+                if ((walls & Direction.BOTTOM.bit()) != 0)
                     canvas.drawLine(x + cellSize, y + cellSize, x, y + cellSize, wallPaint);
-                if (cell.walls.get(Direction.LEFT))
+                if ((walls & Direction.LEFT.bit()) != 0)
                     canvas.drawLine(x, y + cellSize, x, y, wallPaint);
             }
         }
 
-        // Draw closed set
-        if (closedSet != null) {
-            for (Cell cell : closedSet) {
-                int x = offsetX + cell.col * cellSize;
-                int y = offsetY + cell.row * cellSize;
-                canvas.drawRoundRect(
-                        new RectF(x + 12, y + 12, x + cellSize - 12, y + cellSize - 12),
-                        15f, 15f, closedSetPaint);
-            }
-        }
-
-        // Draw open set
-        if (openSet != null) {
-            for (Cell cell : openSet) {
-                int x = offsetX + cell.col * cellSize;
-                int y = offsetY + cell.row * cellSize;
-                canvas.drawRoundRect(
-                        new RectF(x + 12, y + 12, x + cellSize - 12, y + cellSize - 12),
-                        15f, 15f, openSetPaint);
+        // Draw closed and open sets of the search being replayed
+        if (search != null) {
+            for (int r = 0; r < maze.rows; r++) {
+                for (int c = 0; c < maze.cols; c++) {
+                    int index = maze.index(r, c);
+                    Paint paint = search.isClosed(index) ? closedSetPaint
+                            : search.isOpen(index) ? openSetPaint : null;
+                    if (paint == null) continue;
+                    int x = offsetX + c * cellSize;
+                    int y = offsetY + r * cellSize;
+                    canvas.drawRoundRect(
+                            new RectF(x + 12, y + 12, x + cellSize - 12, y + cellSize - 12),
+                            15f, 15f, paint);
+                }
             }
         }
 
@@ -148,16 +157,37 @@ public class MazeView extends View {
         }
 
         // Draw system path
-        if (animatedSteps != null) {
-            for (Cell cell : animatedSteps) {
-                int x = offsetX + cell.col * cellSize;
-                int y = offsetY + cell.row * cellSize;
+        if (animatedPath != null) {
+            PrimitiveIterator.OfInt cells = animatedPath.cells();
+            while (cells.hasNext()) {
+                int index = cells.nextInt();
+                int x = offsetX + maze.colOf(index) * cellSize;
+                int y = offsetY + maze.rowOf(index) * cellSize;
                 canvas.drawRoundRect(
                         new RectF(x + 6, y + 6, x + cellSize - 6, y + cellSize - 6),
                         20f, 20f, solvingMode ? solvingPathPaint : pathPaint);
             }
         }
 
+        // Draw hint
+        if (hintCell != null) {
+            int x = offsetX + hintCell.col * cellSize;
+            int y = offsetY + hintCell.row * cellSize;
+            canvas.drawRoundRect(
+                    new RectF(x + 14, y + 14, x + cellSize - 14, y + cellSize - 14),
+                    15f, 15f, hintPaint);
+        }
+
+        // Draw chasers
+        if (pursuit != null) {
+            for (int i = 0; i < pursuit.chaserCount(); i++) {
+                int index = pursuit.chaser(i);
+                float cx = offsetX + maze.colOf(index) * cellSize + cellSize / 2f;
+                float cy = offsetY + maze.rowOf(index) * cellSize + cellSize / 2f;
+                canvas.drawCircle(cx, cy, cellSize / 4f, chaserPaint);
+            }
+        }
+
         // Draw player position (circle)
         if (playerPosition != null) {
             float px = offsetX + playerPosition.col * cellSize + cellSize / 2f;
@@ -186,26 +216,25 @@ public class MazeView extends View {
     }
 
 
-    public void setPath(List<Cell> path) {
+    public void setPath(Path path) {
         this.path = path;
         invalidate();
     }
 
-    public void addAnimatedStep(Cell cell) {
-        animatedSteps.add(cell);
-        addMoveStep(); // counts only actual path steps
+    // Shows a solver's route; the move counter advances by its cell count, as stepping it cell by cell did
+    public void setAnimatedPath(Path path) {
+        animatedPath = path;
+        if (path != null) setMoveCount(moveCount + path.size());
         invalidate();
     }
 
-
-
     public void resetAnimatedSteps() {
-        animatedSteps.clear();
+        animatedPath = null;
         invalidate();
     }
 
     public void clearAnimatedSteps() {
-        animatedSteps.clear();
+        animatedPath = null;
     }
 
     public void setSolvingMode(boolean mode) {
@@ -213,13 +242,9 @@ public class MazeView extends View {
         invalidate();
     }
 
-    public void setOpenSet(Set<Cell> openSet) {
-        this.openSet = openSet;
-        invalidate();
-    }
-
-    public void setClosedSet(Set<Cell> closedSet) {
-        this.closedSet = closedSet;
+    // Draws the open/closed cells at the cursor's position; call invalidate() after moving it
+    public void setSearch(SearchTrace.Cursor search) {
+        this.search = search;
         invalidate();
     }
 
@@ -269,20 +294,20 @@ public class MazeView extends View {
 
         switch (direction) {
             case "UP":
-                if (!playerPosition.walls.get(Direction.TOP) && row > 0)
-                    next = maze.grid[row - 1][col];
+                if (!maze.hasWall(row, col, Direction.TOP) && row > 0)
+                    next = maze.cell(row - 1, col);
                 break;
             case "DOWN":
-                if (!playerPosition.walls.get(Direction.BOTTOM) && row < maze.rows - 1)
-                    next = maze.grid[row + 1][col];
+                if (!maze.hasWall(row, col, Direction.BOTTOM) && row < maze.rows - 1)
+                    next = maze.cell(row + 1, col);
                 break;
             case "LEFT":
-                if (!playerPosition.walls.get(Direction.LEFT) && col > 0)
-                    next = maze.grid[row][col - 1];
+                if (!maze.hasWall(row, col, Direction.LEFT) && col > 0)
+                    next = maze.cell(row, col - 1);
                 break;
             case "RIGHT":
-                if (!playerPosition.walls.get(Direction.RIGHT) && col < maze.cols - 1)
-                    next = maze.grid[row][col + 1];
+                if (!maze.hasWall(row, col, Direction.RIGHT) && col < maze.cols - 1)
+                    next = maze.cell(row, col + 1);
                 break;
         }
 
@@ -290,15 +315,18 @@ public class MazeView extends View {
             moveCount++;
             if (moveListener != null) moveListener.onMoveCountChanged(moveCount);
 
-            if (userSteps.size() >= 2 && next == userSteps.get(userSteps.size() - 2)) {
+            if (userSteps.size() >= 2 && next.equals(userSteps.get(userSteps.size() - 2))) {
                 userSteps.remove(userSteps.size() - 1);
             } else {
                 userSteps.add(next);
             }
 
             playerPosition = next;
+            hintCell = null;
             solvingMode = false;
+            if (pursuit != null) pursuit.onPlayerMoved(next.index()); // one BFS serves every chaser
             invalidate();
+            if (playerMovedListener != null) playerMovedListener.onPlayerMoved(playerPosition);
             checkIfMazeSolved();
         }
     }
@@ -309,15 +337,18 @@ public class MazeView extends View {
     }
 
     public void resetPlayer() {
-        playerPosition = maze.grid[0][0];
+        playerPosition = maze.cell(0, 0);
+        hintCell = null;
         userSteps.clear();
         userSteps.add(playerPosition);
         solvingMode = false;
         isMovable = true; // ✅ re-enable movement
+        if (pursuit != null) pursuit.onPlayerMoved(playerPosition.index());
         invalidate();
 
         moveCount = 0;
         if (moveListener != null) moveListener.onMoveCountChanged(moveCount);
+        if (playerMovedListener != null) playerMovedListener.onPlayerMoved(playerPosition);
     }
 
     public Maze getMaze() {
@@ -347,12 +378,22 @@ public class MazeView extends View {
     }
 
     private void checkIfMazeSolved() {
-        if (playerPosition == maze.grid[maze.rows - 1][maze.cols - 1]) {
+        if (playerPosition.row == maze.rows - 1 && playerPosition.col == maze.cols - 1) {
             Toast.makeText(getContext(), "Maze Solved!", Toast.LENGTH_SHORT).show();
             isMovable = false; // ✅ disable further movement
             if (mazeSolvedListener != null) mazeSolvedListener.onMazeSolved();
 
-            if (path != null && !path.isEmpty()) {
+            // userSteps drops backtracked cells, so it holds the route actually kept
+            if (distanceField != null) {
+                int userMoves = userSteps.size() - 1;
+                int optimalMoves = distanceField.distance(maze.cell(0, 0));
+                if (distanceField.isOptimal(maze.index(0, 0), userMoves)) {
+                    Toast.makeText(getContext(), "You found the shortest path!", Toast.LENGTH_LONG).show();
+                } else {
+                    Toast.makeText(getContext(), "You solved it in " + userMoves +
+                            " moves. Optimal path: " + optimalMoves + " moves.", Toast.LENGTH_LONG).show();
+                }
+            } else if (path != null) {
                 int systemSteps = path.size();
                 int userStepsCount = userSteps.size();
                 if (userStepsCount == systemSteps) {
@@ -365,6 +406,38 @@ public class MazeView extends View {
         }
     }
 
+    public void setDistanceField(DistanceField distanceField) {
+        this.distanceField = distanceField;
+    }
+
+    // Highlights the next cell on a shortest route to the exit; false when there is none
+    public boolean showHint() {
+        if (distanceField == null) return false;
+        int next = distanceField.nextCell(playerPosition.index());
+        if (next < 0) return false;
+        hintCell = maze.cellAt(next);
+        invalidate();
+        return true;
+    }
+
+    // Starts chase mode with `pursuit`, or ends it with null
+    public void setPursuit(Pursuit pursuit) {
+        this.pursuit = pursuit;
+        invalidate();
+    }
+
+    // Moves every chaser one step; true when one has caught the player
+    public boolean tickPursuit() {
+        if (pursuit == null) return false;
+        boolean caught = pursuit.tick();
+        invalidate();
+        return caught;
+    }
+
+    public Cell getPlayerPosition() {
+        return playerPosition;
+    }
+
     public void setPlayerPosition(Cell cell) {
         this.playerPosition = cell;
         invalidate();
@@ -387,5 +460,11 @@ public class MazeView extends View {
 
     private OnMazeSolvedListener mazeSolvedListener;
     public void setOnMazeSolvedListener(OnMazeSolvedListener listener) { this.mazeSolvedListener = listener; }
-}
 
+    public interface OnPlayerMovedListener {
+        void onPlayerMoved(Cell position);
+    }
+
+    private OnPlayerMovedListener playerMovedListener;
+    public void setOnPlayerMovedListener(OnPlayerMovedListener listener) { this.playerMovedListener = listener; }
+}
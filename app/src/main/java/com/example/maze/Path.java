@@ -0,0 +1,139 @@
+package com.example.maze;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+// A route through a maze as its start cell plus one 2-bit move per step
+// (Direction.ordinal(): TOP, RIGHT, BOTTOM, LEFT), four moves to a byte. A
+// 1000-move solution is ~250 bytes instead of a list of 1001 Cell objects.
+// Length is O(1); the cells are decoded on the fly by walking the moves, and
+// toCells()/toIndices() materialise them only for callers that need a list.
+public class Path {
+    private static final int HEADER_BYTES = 16;
+
+    private final int cols;   // grid width, to turn moves back into indices
+    private final int start;
+    private final int end;
+    private final int length; // moves, so the path has length + 1 cells
+    private final byte[] moves;
+
+    private Path(int cols, int start, int end, int length, byte[] moves) {
+        this.cols = cols;
+        this.start = start;
+        this.end = end;
+        this.length = length;
+        this.moves = moves;
+    }
+
+    // Packs start-to-end cell indices, as returned by the search engines, in one pass.
+    // An empty array (no route) gives null.
+    public static Path of(Maze maze, int[] cells) {
+        if (cells.length == 0) return null;
+        int length = cells.length - 1;
+        byte[] moves = new byte[(length + 3) / 4];
+        for (int i = 0; i < length; i++) {
+            int move = moveBetween(cells[i], cells[i + 1], maze.cols);
+            moves[i >> 2] |= (byte) (move << ((i & 3) << 1));
+        }
+        return new Path(maze.cols, cells[0], cells[length], length, moves);
+    }
+
+    private static int moveBetween(int from, int to, int cols) {
+        int diff = to - from;
+        if (diff == -cols) return Direction.TOP.ordinal();
+        if (diff == cols) return Direction.BOTTOM.ordinal();
+        if (diff == 1) return Direction.RIGHT.ordinal();
+        if (diff == -1) return Direction.LEFT.ordinal();
+        throw new IllegalArgumentException("Cells " + from + " and " + to + " are not adjacent");
+    }
+
+    public int start() {
+        return start;
+    }
+
+    public int end() {
+        return end;
+    }
+
+    // Moves from start to end
+    public int length() {
+        return length;
+    }
+
+    // Cells on the path, both ends included
+    public int size() {
+        return length + 1;
+    }
+
+    // Move number `step` (0-based), O(1)
+    public Direction move(int step) {
+        if (step < 0 || step >= length) throw new IndexOutOfBoundsException("Step " + step + " of " + length);
+        return Direction.ALL[(moves[step >> 2] >> ((step & 3) << 1)) & 3];
+    }
+
+    // Cell indices from start to end, decoded lazily
+    public PrimitiveIterator.OfInt cells() {
+        return new PrimitiveIterator.OfInt() {
+            private int step = -1;
+            private int cell = start;
+
+            @Override
+            public boolean hasNext() {
+                return step < length;
+            }
+
+            @Override
+            public int nextInt() {
+                if (step >= length) throw new NoSuchElementException();
+                if (step >= 0) cell = neighbor(cell, move(step));
+                step++;
+                return cell;
+            }
+        };
+    }
+
+    private int neighbor(int cell, Direction dir) {
+        return cell + dir.rowOffset() * cols + dir.colOffset();
+    }
+
+    public int[] toIndices() {
+        int[] cells = new int[size()];
+        PrimitiveIterator.OfInt it = cells();
+        for (int i = 0; i < cells.length; i++) cells[i] = it.nextInt();
+        return cells;
+    }
+
+    public List<Cell> toCells(Maze maze) {
+        List<Cell> cells = new ArrayList<>(size());
+        PrimitiveIterator.OfInt it = cells();
+        while (it.hasNext()) cells.add(maze.cellAt(it.nextInt()));
+        return cells;
+    }
+
+    // ===================== SERIALIZATION =====================
+    // Header (cols, start, end, length) followed by the packed moves
+    public byte[] toBytes() {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + moves.length);
+        buffer.putInt(cols).putInt(start).putInt(end).putInt(length).put(moves);
+        return buffer.array();
+    }
+
+    public static Path fromBytes(byte[] bytes) {
+        if (bytes == null || bytes.length < HEADER_BYTES) throw new IllegalArgumentException("Not a packed path");
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        int cols = buffer.getInt(), start = buffer.getInt(), end = buffer.getInt(), length = buffer.getInt();
+        if (cols < 1 || length < 0 || bytes.length != HEADER_BYTES + (length + 3) / 4) {
+            throw new IllegalArgumentException("Not a packed path");
+        }
+        byte[] moves = new byte[(length + 3) / 4];
+        buffer.get(moves);
+        return new Path(cols, start, end, length, moves);
+    }
+
+    public long memoryBytes() {
+        return HEADER_BYTES + moves.length;
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.maze;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+// Randomized Prim's: short dead ends branching off everywhere
+public class PrimGenerator implements TileGenerator {
+
+    // Frontier entries are packed ints: (cell << 2) | direction back to the visited
+    // cell that discovered it. A pop swaps the picked entry with the last one, so
+    // it is O(1), and visited cells live in a bitset instead of a boolean per cell.
+    // Packing leaves 30 bits for the tile-local cell index, so larger tiles are rejected.
+    // Indices are tile-local (lr * width + lc) so scratch arrays are sized to the tile.
+    @Override
+    public void generate(Maze maze, int top, int left, int height, int width, SplittableRandom rand) {
+        if ((long) height * width > 1 << 30) {
+            throw new IllegalArgumentException("Prim's generator supports at most 2^30 cells, got " + height + "x" + width);
+        }
+        int cols = maze.cols;
+        int base = top * cols + left;
+        long[] visited = new long[(height * width + 63) >>> 6];
+        int[] frontier = new int[64];
+        int size = 0;
+
+        int current = 0;
+        while (true) {
+            visited[current >>> 6] |= 1L << current;
+
+            if (size + 4 > frontier.length) {
+                frontier = Arrays.copyOf(frontier, frontier.length * 2);
+            }
+            int r = current / width, c = current % width;
+            int next;
+            if (r > 0 && !isSet(visited, next = current - width))
+                frontier[size++] = (next << 2) | Direction.BOTTOM.ordinal();
+            if (r < height - 1 && !isSet(visited, next = current + width))
+                frontier[size++] = (next << 2) | Direction.TOP.ordinal();
+            if (c > 0 && !isSet(visited, next = current - 1))
+                frontier[size++] = (next << 2) | Direction.RIGHT.ordinal();
+            if (c < width - 1 && !isSet(visited, next = current + 1))
+                frontier[size++] = (next << 2) | Direction.LEFT.ordinal();
+
+            // Pop random entries until one reaches an unvisited cell
+            current = -1;
+            while (size > 0) {
+                int pick = rand.nextInt(size);
+                int edge = frontier[pick];
+                frontier[pick] = frontier[--size];
+
+                int cell = edge >>> 2;
+                if (!isSet(visited, cell)) {
+                    int global = base + (cell / width) * cols + cell % width;
+                    maze.carveWalls(global, maze.neighbor(global, Direction.ALL[edge & 3]));
+                    current = cell;
+                    break;
+                }
+            }
+            if (current < 0) break;
+        }
+    }
+
+    private static boolean isSet(long[] bits, int index) {
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    @Override
+    public long scratchBytes(int rows, int cols) {
+        long cells = (long) rows * cols;
+        // Visited bitset plus the frontier, which can hold every interior edge in the worst case
+        return cells / 8 + (2 * cells - rows - cols) * 4;
+    }
+}
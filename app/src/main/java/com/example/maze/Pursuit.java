@@ -0,0 +1,94 @@
+package com.example.maze;
+
+import java.util.SplittableRandom;
+
+// Chasers hunting the player. Instead of a search per chaser per tick, one BFS
+// from the player's cell (a reverse distance field) is shared by every chaser:
+// each one just steps to a neighbour one move closer to the player. The BFS runs
+// once per player move, so a tick costs O(chasers) whatever their number.
+//
+// Chasers prefer a downhill neighbour no other chaser stands on, so a pack
+// spreads over parallel routes in loopy mazes instead of moving as one blob.
+public class Pursuit {
+    private final Maze maze;
+    private final DistanceField toPlayer;
+    private final int[] chasers;
+    private final int[] occupied;  // chasers per cell
+    private final int[] neighbors = new int[4];
+
+    public Pursuit(Maze maze, int[] chaserCells, int playerCell) {
+        this.maze = maze;
+        toPlayer = new DistanceField(maze);
+        chasers = chaserCells.clone();
+        occupied = new int[maze.cellCount()];
+        for (int cell : chasers) occupied[cell]++;
+        toPlayer.compute(playerCell);
+    }
+
+    // `count` chasers on random cells at least `minDistance` moves from the player,
+    // or as far as the maze allows when it has no such cells
+    public static Pursuit spawn(Maze maze, int count, int playerCell, int minDistance, long seed) {
+        DistanceField field = new DistanceField(maze);
+        field.compute(playerCell);
+        int[] candidates = new int[maze.cellCount()];
+        int n = 0, farthest = 0;
+        for (int cell = 0; cell < candidates.length; cell++) {
+            farthest = Math.max(farthest, field.distance(cell));
+        }
+        int threshold = Math.min(minDistance, farthest);
+        for (int cell = 0; cell < candidates.length; cell++) {
+            if (field.distance(cell) >= threshold && cell != playerCell) candidates[n++] = cell;
+        }
+        if (n == 0) throw new IllegalStateException("No cell to place a chaser on");
+
+        SplittableRandom rand = new SplittableRandom(seed);
+        int[] chosen = new int[count];
+        for (int i = 0; i < count; i++) {
+            chosen[i] = candidates[rand.nextInt(n)];
+        }
+        return new Pursuit(maze, chosen, playerCell);
+    }
+
+    // The only BFS: call once whenever the player's cell changes
+    public void onPlayerMoved(int playerCell) {
+        toPlayer.compute(playerCell);
+    }
+
+    // Moves every chaser one step down the field; true when one reaches the player
+    public boolean tick() {
+        boolean caught = false;
+        for (int i = 0; i < chasers.length; i++) {
+            int from = chasers[i];
+            int to = downhill(from);
+            if (to >= 0) {
+                occupied[from]--;
+                occupied[to]++;
+                chasers[i] = to;
+            }
+            caught |= chasers[i] == toPlayer.source();
+        }
+        return caught;
+    }
+
+    private int downhill(int cell) {
+        int d = toPlayer.distance(cell);
+        if (d <= 0) return -1;  // on the player, or cut off from it
+        int fallback = -1;
+        int count = maze.openNeighbors(cell, neighbors);
+        for (int i = 0; i < count; i++) {
+            int next = neighbors[i];
+            if (toPlayer.distance(next) != d - 1) continue;
+            if (occupied[next] == 0) return next;
+            if (fallback < 0) fallback = next;
+        }
+        return fallback;
+    }
+
+    public int chaserCount() {
+        return chasers.length;
+    }
+
+    public int chaser(int i) {
+        return chasers[i];
+    }
+}
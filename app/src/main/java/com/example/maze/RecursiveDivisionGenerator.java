@@ -0,0 +1,74 @@
+package com.example.maze;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+// Recursive division: starts from an open room and splits it with walls that
+// have a single gap. Produces long straight walls and a boxy, "building plan"
+// look. The only engine that adds walls instead of carving them, and it needs
+// no per-cell scratch at all.
+public class RecursiveDivisionGenerator implements MazeGenerator {
+
+    @Override
+    public void generate(Maze maze, SplittableRandom rand) {
+        int cols = maze.cols;
+        maze.openInterior();
+
+        // Explicit stack of pending regions (row, col, height, width) instead of recursion
+        int[] stack = new int[64];
+        int top = 0;
+        stack[top++] = 0;
+        stack[top++] = 0;
+        stack[top++] = maze.rows;
+        stack[top++] = cols;
+
+        while (top > 0) {
+            int w = stack[--top];
+            int h = stack[--top];
+            int c = stack[--top];
+            int r = stack[--top];
+            if (h < 2 || w < 2) continue;  // a single row or column is already a corridor
+
+            boolean horizontal = h > w || (h == w && rand.nextBoolean());
+
+            if (top + 8 > stack.length) {
+                stack = Arrays.copyOf(stack, stack.length * 2);
+            }
+
+            if (horizontal) {
+                // Wall runs along the bottom of row wr, with one gap at column gap
+                int wr = r + rand.nextInt(h - 1);
+                int gap = c + rand.nextInt(w);
+                for (int cc = c; cc < c + w; cc++) {
+                    if (cc != gap) maze.addWalls(wr * cols + cc, (wr + 1) * cols + cc);
+                }
+                top = push(stack, top, r, c, wr - r + 1, w);
+                top = push(stack, top, wr + 1, c, r + h - wr - 1, w);
+            } else {
+                // Wall runs along the right side of column wc, with one gap at row gap
+                int wc = c + rand.nextInt(w - 1);
+                int gap = r + rand.nextInt(h);
+                for (int rr = r; rr < r + h; rr++) {
+                    if (rr != gap) maze.addWalls(rr * cols + wc, rr * cols + wc + 1);
+                }
+                top = push(stack, top, r, c, h, wc - c + 1);
+                top = push(stack, top, r, wc + 1, h, c + w - wc - 1);
+            }
+        }
+    }
+
+    private static int push(int[] stack, int top, int r, int c, int h, int w) {
+        stack[top++] = r;
+        stack[top++] = c;
+        stack[top++] = h;
+        stack[top++] = w;
+        return top;
+    }
+
+    @Override
+    public long scratchBytes(int rows, int cols) {
+        // Region stack only grows with the split depth, which averages around 2 * log2 of the larger side
+        int depth = 2 * (32 - Integer.numberOfLeadingZeros(Math.max(rows, cols)));
+        return (depth + 2) * 4L * 4;
+    }
+}
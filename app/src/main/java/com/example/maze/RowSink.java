@@ -0,0 +1,31 @@
+package com.example.maze;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+// Receives a streamed maze one row at a time, top to bottom
+public interface RowSink {
+
+    // `walls` holds one wall nibble per column (see Direction.bit()). The array is
+    // reused for the next row, so copy it if it has to outlive the call.
+    void acceptRow(int row, byte[] walls) throws IOException;
+
+    // Writes each row as packed nibbles, two cells per byte with the even column in the
+    // low half. Rows are padded to whole bytes so every row starts on a byte boundary.
+    static RowSink packed(OutputStream out) {
+        return new RowSink() {
+            private byte[] buffer = new byte[0];
+
+            @Override
+            public void acceptRow(int row, byte[] walls) throws IOException {
+                int length = (walls.length + 1) / 2;
+                if (buffer.length != length) buffer = new byte[length];
+                for (int c = 0; c < walls.length; c += 2) {
+                    int high = c + 1 < walls.length ? walls[c + 1] : 0;
+                    buffer[c >> 1] = (byte) ((walls[c] & 0x0F) | (high << 4));
+                }
+                out.write(buffer);
+            }
+        };
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.maze;
+
+// Work counters of the last search, shared by the stepping engines and the
+// one-shot solvers (bidirectional, corridor graph, HPA*, LPA*) so every mode
+// reports its cost through the same SolverStats.
+public interface SearchCounters {
+
+    int expandedCount();
+
+    // Cells (or graph nodes) reached for the first time, the start included
+    int generatedCount();
+
+    // Frontier inserts and removals (heap, queue or stack, depending on the algorithm)
+    int pushCount();
+
+    int popCount();
+
+    // Largest open set (frontier) size seen during the search
+    int peakOpenCount();
+}
@@ -0,0 +1,21 @@
+package com.example.maze;
+
+// A resumable search over cell indices. After reset() each step() expands one
+// cell, so a caller decides how far the search runs and can stop at any point.
+public interface SearchEngine extends SearchCounters {
+
+    void reset(int start, int goal);
+
+    // Expands one cell and returns it, or -1 once the search has finished
+    int step();
+
+    boolean isFinished();
+
+    boolean found();
+
+    // Cell indices from start to goal, or an empty array when there is no path
+    int[] path();
+
+    // Receives open/expand events from the next reset() on; null to stop
+    void setListener(SearchListener listener);
+}
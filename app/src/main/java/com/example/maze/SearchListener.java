@@ -0,0 +1,12 @@
+package com.example.maze;
+
+// Receives the events of a running search, in order. Cells are maze indices.
+public interface SearchListener {
+
+    // `cell` is the next one expanded: it leaves the open set and becomes the
+    // current cell, and the previously current cell counts as closed
+    void onExpand(int cell);
+
+    // `cell` joined the open set
+    void onOpen(int cell);
+}
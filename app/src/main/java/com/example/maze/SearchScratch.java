@@ -0,0 +1,75 @@
+package com.example.maze;
+
+import java.util.Arrays;
+
+// Per-cell working arrays for a search, kept between solves so a search never
+// allocates per node and never clears whole arrays. Each search gets a new
+// stamp: a cell's entries are only valid when mark[cell] carries the current
+// stamp (stamp = seen this search, stamp + 1 = closed), so stale values from
+// earlier searches are simply ignored. Not thread-safe; use one per thread.
+public class SearchScratch {
+    int[] g = new int[0];
+    int[] parent = new int[0];
+    int[] mark = new int[0];
+    int stamp;
+    final IndexedMinHeap heap = new IndexedMinHeap(0);
+    final int[] neighbors = new int[4];
+    private int[] queue = new int[0];
+
+    // Grows the arrays to cover `cells` and starts a fresh search
+    void begin(int cells) {
+        if (cells > mark.length) {
+            HeapBudget.require(cells, 16, "Search scratch");  // g, parent, mark and the heap's position
+            g = new int[cells];
+            parent = new int[cells];
+            mark = new int[cells];
+            stamp = 0;
+            heap.ensureCapacity(cells);
+        }
+        heap.clear();
+        if (stamp >= Integer.MAX_VALUE - 2) {
+            Arrays.fill(mark, 0);
+            stamp = 0;
+        }
+        stamp += 2;
+    }
+
+    // FIFO/stack storage for searches that do not use the heap, allocated on first use
+    int[] queue(int cells) {
+        if (queue.length < cells) {
+            HeapBudget.require(cells, 4, "Search queue");
+            queue = new int[cells];
+        }
+        return queue;
+    }
+
+    boolean isSeen(int cell) {
+        return mark[cell] >= stamp;
+    }
+
+    boolean isClosed(int cell) {
+        return mark[cell] == stamp + 1;
+    }
+
+    void open(int cell, int cost, int from) {
+        mark[cell] = stamp;
+        g[cell] = cost;
+        parent[cell] = from;
+    }
+
+    void close(int cell) {
+        mark[cell] = stamp + 1;
+    }
+
+    // Cells from `start` to `end` along the parent links, for a walk of `steps` moves
+    int[] path(int start, int end, int steps) {
+        int[] path = new int[steps + 1];
+        int cell = end;
+        for (int i = steps; i > 0; i--) {
+            path[i] = cell;
+            cell = parent[cell];
+        }
+        path[0] = start;
+        return path;
+    }
+}
@@ -0,0 +1,218 @@
+package com.example.maze;
+
+import java.util.Arrays;
+
+// Compact record of a search for replay. Instead of snapshotting the open and
+// closed sets on every step, the trace logs one int per event ((cell << 1) | type,
+// read back with >>> 1 so every int cell index fits) plus the event offset where
+// each step starts. Every `interval` steps it keeps
+// a keyframe (one state byte per cell) so a Cursor can seek without replaying
+// from the start. The interval grows with the grid, so keyframes add at most a
+// few bytes per step and the whole trace stays O(steps).
+//
+// A step is one expansion together with the cells it opened. Events that arrive
+// before the first expansion (the start cell being opened) belong to step 0.
+//
+// A trace can be filled lazily: with a Source attached, cursors that reach the
+// last recorded step ask the source for the next one instead of stopping.
+public class SearchTrace implements SearchListener {
+
+    public interface Source {
+        // Records one more step into the trace; false once the search is over
+        boolean pull();
+    }
+
+    static final byte NONE = 0, OPEN = 1, CLOSED = 2;
+
+    private static final int EXPAND = 0, OPENED = 1;
+    private static final int MIN_INTERVAL = 64;
+    private static final int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+
+    private final int cells;
+    private final int interval;
+
+    private int[] events = new int[256];
+    private int eventCount;
+    private int[] stepStarts = new int[64];
+    private int stepCount;
+
+    // Live state while recording, copied into each keyframe
+    private final byte[] state;
+    private int current = -1;
+    private byte[][] keyframes = new byte[4][];
+    private int[] keyframeCurrents = new int[4];
+
+    private int[] path;
+    private SolverStats stats;
+    private Source source;
+
+    public SearchTrace(int cells) {
+        this.cells = cells;
+        interval = Math.max(MIN_INTERVAL, cells / 8);
+        HeapBudget.require(cells, 2, "Search trace");  // live state plus the first keyframe
+        state = new byte[cells];
+    }
+
+    // ===================== RECORDING =====================
+    @Override
+    public void onExpand(int cell) {
+        if (stepCount > 0) {
+            if (stepCount % interval == 0) saveKeyframe(stepCount / interval);
+            if (stepCount == stepStarts.length) stepStarts = Arrays.copyOf(stepStarts, grownLength(stepCount));
+            stepStarts[stepCount] = eventCount;
+        }
+        stepCount++;
+        append(event(cell, EXPAND));
+        if (current >= 0) state[current] = CLOSED;
+        state[cell] = NONE;
+        current = cell;
+    }
+
+    @Override
+    public void onOpen(int cell) {
+        append(event(cell, OPENED));
+        state[cell] = OPEN;
+    }
+
+    public void setSource(Source source) {
+        this.source = source;
+    }
+
+    // Marks the search as finished; `path` is empty when the goal was not reached
+    public void finish(int[] path) {
+        finish(path, null);
+    }
+
+    public void finish(int[] path, SolverStats stats) {
+        this.path = path;
+        this.stats = stats;
+        source = null;
+    }
+
+    private void append(int event) {
+        if (eventCount == events.length) events = Arrays.copyOf(events, grownLength(eventCount));
+        events[eventCount++] = event;
+    }
+
+    // The shift can push a cell index of 2^30 or more into the sign bit; cellOf()
+    // shifts back unsigned, so the round trip holds for every non-negative int
+    static int event(int cell, int type) {
+        return (cell << 1) | type;
+    }
+
+    static int cellOf(int event) {
+        return event >>> 1;
+    }
+
+    // Doubles an array length, capped at the largest array the VM allows
+    private static int grownLength(int length) {
+        if (length >= MAX_ARRAY_LENGTH) throw new IllegalStateException("Search trace is full at " + length + " entries");
+        return (int) Math.min(2L * length, MAX_ARRAY_LENGTH);
+    }
+
+    private void saveKeyframe(int index) {
+        if (index >= keyframes.length) {
+            keyframes = Arrays.copyOf(keyframes, index * 2);
+            keyframeCurrents = Arrays.copyOf(keyframeCurrents, index * 2);
+        }
+        keyframes[index] = state.clone();
+        keyframeCurrents[index] = current;
+    }
+
+    // ===================== ACCESSORS =====================
+    public int stepCount() {
+        return stepCount;
+    }
+
+    public boolean isFinished() {
+        return path != null;
+    }
+
+    // Start-to-goal cell indices; null while recording, empty if no path was found
+    public int[] path() {
+        return path;
+    }
+
+    // Cost of the search that recorded this trace; null while recording or if not measured
+    public SolverStats stats() {
+        return stats;
+    }
+
+    // Approximate heap footprint of the recorded data
+    public long memoryBytes() {
+        long bytes = 4L * (events.length + stepStarts.length + keyframeCurrents.length) + cells;
+        for (byte[] frame : keyframes) {
+            if (frame != null) bytes += frame.length;
+        }
+        return bytes;
+    }
+
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    // ===================== REPLAY =====================
+    // Replays the trace step by step. position() is the number of steps applied,
+    // from 0 (nothing searched yet) to stepCount().
+    public class Cursor {
+        private final byte[] view = new byte[cells];
+        private int position;
+        private int viewCurrent = -1;
+
+        public int position() {
+            return position;
+        }
+
+        public boolean isOpen(int cell) {
+            return view[cell] == OPEN;
+        }
+
+        public boolean isClosed(int cell) {
+            return view[cell] == CLOSED;
+        }
+
+        // Cell expanded by the last applied step, or -1 before the first one
+        public int current() {
+            return viewCurrent;
+        }
+
+        // Applies the next step, pulling it from the source if it is not recorded yet;
+        // false at the end of the search
+        public boolean advance() {
+            if (position >= stepCount && (source == null || !source.pull())) return false;
+            int end = position + 1 < stepCount ? stepStarts[position + 1] : eventCount;
+            for (int i = stepStarts[position]; i < end; i++) {
+                int cell = cellOf(events[i]);
+                if ((events[i] & 1) == EXPAND) {
+                    if (viewCurrent >= 0) view[viewCurrent] = CLOSED;
+                    view[cell] = NONE;
+                    viewCurrent = cell;
+                } else {
+                    view[cell] = OPEN;
+                }
+            }
+            position++;
+            return true;
+        }
+
+        // Jumps to `target` steps applied, restoring the nearest keyframe when
+        // that is shorter than replaying from here
+        public void seek(int target) {
+            while (stepCount < target && source != null && source.pull()) { }
+            target = Math.max(0, Math.min(target, stepCount));
+            int frame = target / interval;
+            while (frame > 0 && (frame >= keyframes.length || keyframes[frame] == null)) frame--;
+            if (target < position || frame * interval > position) {
+                if (frame == 0) {
+                    Arrays.fill(view, NONE);
+                    viewCurrent = -1;
+                } else {
+                    System.arraycopy(keyframes[frame], 0, view, 0, cells);
+                    viewCurrent = keyframeCurrents[frame];
+                }
+                position = frame * interval;
+            }
+            while (position < target) advance();
+        }
+    }
+}
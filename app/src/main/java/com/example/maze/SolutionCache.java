@@ -0,0 +1,129 @@
+package com.example.maze;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+// Bounded LRU cache of finished searches. A finished SearchTrace carries both
+// the replay and the path, so a hit skips the search entirely. Entries are
+// keyed by the maze's wall content (not its seed), the algorithm and the two
+// endpoints, and evicted least-recently-used first once either the entry count
+// or the estimated trace bytes go over their limits. Safe to share between threads.
+public class SolutionCache {
+
+    public static final class Key {
+        final long mazeHash;
+        final int rows, cols;
+        final String algorithm;
+        final int start, goal;
+
+        Key(long mazeHash, int rows, int cols, String algorithm, int start, int goal) {
+            this.mazeHash = mazeHash;
+            this.rows = rows;
+            this.cols = cols;
+            this.algorithm = algorithm;
+            this.start = start;
+            this.goal = goal;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) return false;
+            Key k = (Key) o;
+            return mazeHash == k.mazeHash && rows == k.rows && cols == k.cols
+                    && start == k.start && goal == k.goal && algorithm.equals(k.algorithm);
+        }
+
+        @Override
+        public int hashCode() {
+            int h = Long.hashCode(mazeHash);
+            h = 31 * h + algorithm.hashCode();
+            h = 31 * h + start;
+            return 31 * h + goal;
+        }
+    }
+
+    private final int maxEntries;
+    private final long maxBytes;
+    private final LinkedHashMap<Key, SearchTrace> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+    private long hits, misses, evictions;
+
+    public SolutionCache(int maxEntries, long maxBytes) {
+        if (maxEntries < 1 || maxBytes < 1) throw new IllegalArgumentException("Cache limits must be positive");
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+    }
+
+    // Hashes the maze's walls, so build the key once per maze and query rather than per lookup
+    public static Key key(Maze maze, SolverAlgorithm algorithm, int start, int goal) {
+        return new Key(maze.contentHash(), maze.rows, maze.cols, algorithm.name(), start, goal);
+    }
+
+    // Finished trace for the key, or null; counts a hit or a miss
+    public synchronized SearchTrace get(Key key) {
+        SearchTrace trace = entries.get(key);
+        if (trace != null) hits++;
+        else misses++;
+        return trace;
+    }
+
+    // Stores a finished trace; unfinished (e.g. cancelled) traces are ignored
+    public synchronized void put(Key key, SearchTrace trace) {
+        if (!trace.isFinished()) return;
+        SearchTrace old = entries.put(key, trace);
+        if (old != null) bytes -= old.memoryBytes();
+        bytes += trace.memoryBytes();
+
+        Iterator<Map.Entry<Key, SearchTrace>> eldest = entries.entrySet().iterator();
+        while ((entries.size() > maxEntries || bytes > maxBytes) && entries.size() > 1) {
+            bytes -= eldest.next().getValue().memoryBytes();
+            eldest.remove();
+            evictions++;
+        }
+    }
+
+    // Cached trace, or a fresh search to the end that is then cached. The search
+    // runs outside the lock, so two threads missing on one key may both solve it.
+    public SearchTrace solve(Maze maze, SolverAlgorithm algorithm, int start, int goal) {
+        Key key = key(maze, algorithm, start, goal);
+        SearchTrace trace = get(key);
+        if (trace != null) return trace;
+        SolverRun run = new SolverRun(algorithm.create(maze, new SearchScratch()), maze.cellCount(), start, goal);
+        run.runToEnd();
+        put(key, run.trace());
+        return run.trace();
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        bytes = 0;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long sizeBytes() {
+        return bytes;
+    }
+
+    public synchronized long hits() {
+        return hits;
+    }
+
+    public synchronized long misses() {
+        return misses;
+    }
+
+    public synchronized long evictions() {
+        return evictions;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format(Locale.ROOT, "%d entries, %d KB, %d hits, %d misses, %d evictions",
+                entries.size(), bytes / 1024, hits, misses, evictions);
+    }
+}
@@ -1,179 +1,93 @@
 package com.example.maze;
 
-import java.util.*;
-
 public class Solver {
 
     private Maze maze;
 
+    // Scratch arrays are shared by this solver's runs, so starting a run cancels the previous one
+    private final SearchScratch scratch = new SearchScratch();
+    private SolverRun run;
+    private BidirectionalSearch bidirectional;
+    private CorridorGraph corridors;
+    private HierarchicalGraph hierarchy;
+    private int builtForWalls;  // Maze.wallVersion() the derived graphs were built from
+
     public Solver(Maze maze) {
         this.maze = maze;
     }
 
-    public static class Step {
-        public Set<Cell> openSet;
-        public Set<Cell> closedSet;
-        public Cell current;
-        public List<Cell> finalPath; // non-null only at last step
-
-        public Step(Set<Cell> openSet, Set<Cell> closedSet, Cell current, List<Cell> finalPath) {
-            this.openSet = new HashSet<>(openSet);
-            this.closedSet = new HashSet<>(closedSet);
-            this.current = current;
-            this.finalPath = finalPath; // can be null during search
-        }
+    // Returns immediately; the search advances as the run's trace is replayed
+    public SolverRun start(SolverAlgorithm algorithm, Cell start, Cell end) {
+        if (run != null) run.cancel();
+        run = new SolverRun(algorithm.create(maze, scratch), maze.cellCount(), start.index(), end.index());
+        return run;
     }
 
-    // ================= A* =================
-    public List<Step> solveWithAStarAnimated(Cell start, Cell end) {
-        Map<Cell, Integer> gScore = new HashMap<>();
-        Map<Cell, Integer> fScore = new HashMap<>();
-        Map<Cell, Cell> cameFrom = new HashMap<>();
-        PriorityQueue<CellDistance> openSetPQ = new PriorityQueue<>(Comparator.comparingInt(cd -> cd.distance));
-        Set<Cell> openSet = new HashSet<>();
-        Set<Cell> closedSet = new HashSet<>();
-
-        for (int r = 0; r < maze.rows; r++) {
-            for (int c = 0; c < maze.cols; c++) {
-                gScore.put(maze.grid[r][c], Integer.MAX_VALUE);
-                fScore.put(maze.grid[r][c], Integer.MAX_VALUE);
-            }
-        }
-
-        gScore.put(start, 0);
-        fScore.put(start, heuristic(start, end));
-        openSetPQ.add(new CellDistance(start, fScore.get(start)));
-        openSet.add(start);
-
-        List<Step> steps = new ArrayList<>();
-
-        while (!openSetPQ.isEmpty()) {
-            Cell current = openSetPQ.poll().cell;
-            openSet.remove(current);
-
-            // Record step
-            steps.add(new Step(openSet, closedSet, current, null));
-
-            if (current == end) {
-                List<Cell> path = reconstructPath(cameFrom, start, end);
-                steps.add(new Step(openSet, closedSet, current, path));
-                break;
-            }
-
-            closedSet.add(current);
-
-            for (Direction dir : Direction.values()) {
-                if (!current.walls.get(dir)) {
-                    Cell neighbor = getNeighbor(current, dir);
-                    if (neighbor == null || closedSet.contains(neighbor)) continue;
-
-                    int tentativeG = gScore.get(current) + 1;
-                    if (tentativeG < gScore.get(neighbor)) {
-                        cameFrom.put(neighbor, current);
-                        gScore.put(neighbor, tentativeG);
-                        fScore.put(neighbor, tentativeG + heuristic(neighbor, end));
-
-                        if (!openSet.contains(neighbor)) {
-                            openSetPQ.add(new CellDistance(neighbor, fScore.get(neighbor)));
-                            openSet.add(neighbor);
-                        }
-                    }
-                }
-            }
-        }
-
-        return steps;
+    public SearchTrace solve(SolverAlgorithm algorithm, Cell start, Cell end) {
+        SolverRun run = start(algorithm, start, end);
+        run.runToEnd();
+        return run.trace();
     }
 
-    // ================= Greedy First Search =================
-    public List<Step> solveWithGreedyAnimated(Cell start, Cell end) {
-        Map<Cell, Cell> cameFrom = new HashMap<>();
-        PriorityQueue<CellDistance> openSetPQ = new PriorityQueue<>(Comparator.comparingInt(cd -> cd.distance));
-        Set<Cell> openSet = new HashSet<>();
-        Set<Cell> closedSet = new HashSet<>();
-
-        openSetPQ.add(new CellDistance(start, heuristic(start, end)));
-        openSet.add(start);
-
-        List<Step> steps = new ArrayList<>();
-
-        while (!openSetPQ.isEmpty()) {
-            Cell current = openSetPQ.poll().cell;
-            openSet.remove(current);
-
-            // Record step
-            steps.add(new Step(openSet, closedSet, current, null));
-
-            if (current == end) {
-                List<Cell> path = reconstructPath(cameFrom, start, end);
-                steps.add(new Step(openSet, closedSet, current, path));
-                break;
-            }
-
-            closedSet.add(current);
-
-            for (Direction dir : Direction.values()) {
-                if (!current.walls.get(dir)) {
-                    Cell neighbor = getNeighbor(current, dir);
-                    if (neighbor == null || closedSet.contains(neighbor)) continue;
-
-                    if (!openSet.contains(neighbor)) {
-                        cameFrom.put(neighbor, current);
-                        openSetPQ.add(new CellDistance(neighbor, heuristic(neighbor, end)));
-                        openSet.add(neighbor);
-                    }
-                }
-            }
-        }
-
-        return steps;
+    // ================= A* =================
+    public SolverRun startAStar(Cell start, Cell end) {
+        return start(SolverRegistry.ASTAR, start, end);
     }
 
-    // ================= Helper Methods =================
-    private int heuristic(Cell a, Cell b) {
-        return Math.abs(a.row - b.row) + Math.abs(a.col - b.col);
+    public SearchTrace solveWithAStarAnimated(Cell start, Cell end) {
+        return solve(SolverRegistry.ASTAR, start, end);
     }
 
-    private Cell getNeighbor(Cell cell, Direction dir) {
-        int r = cell.row, c = cell.col;
-        switch (dir) {
-            case TOP:    r--; break;
-            case RIGHT:  c++; break;
-            case BOTTOM: r++; break;
-            case LEFT:   c--; break;
-        }
-        if (r >= 0 && r < maze.rows && c >= 0 && c < maze.cols) {
-            return maze.grid[r][c];
-        }
-        return null;
+    // ================= Greedy First Search =================
+    public SolverRun startGreedy(Cell start, Cell end) {
+        return start(SolverRegistry.GREEDY, start, end);
     }
 
-    private List<Cell> reconstructPath(Map<Cell, Cell> cameFrom, Cell start, Cell end) {
-        List<Cell> path = new ArrayList<>();
-        Cell current = end;
-
-        while (current != null && current != start) {
-            path.add(0, current);
-            current = cameFrom.get(current);
-        }
+    public SearchTrace solveWithGreedyAnimated(Cell start, Cell end) {
+        return solve(SolverRegistry.GREEDY, start, end);
+    }
 
-        if (current == start) {
-            path.add(0, start);
-        }
+    // ================= Bidirectional BFS =================
+    // Runs both frontiers at once on two threads; blocks until the shortest path is known.
+    // The counters cover both sides, the allocation only the calling (forward) thread.
+    public SolverResult solveBidirectional(Cell start, Cell end) {
+        if (bidirectional == null) bidirectional = new BidirectionalSearch(maze);
+        return SolverResult.measure(bidirectional, () -> bidirectional.solve(start.index(), end.index()));
+    }
 
-        return path;
+    // ================= Corridor graph =================
+    // Builds the contracted graph on first use and answers shortest-path queries on it
+    public SolverResult solveContracted(Cell start, Cell end) {
+        dropStaleGraphs();
+        if (corridors == null) corridors = CorridorGraph.build(maze);
+        return SolverResult.measure(corridors, () -> corridors.solve(start.index(), end.index()));
     }
 
-    private static class CellDistance {
-        Cell cell;
-        int distance;
+    // ================= Hierarchical (HPA*) =================
+    // For very large mazes with many queries: builds the cluster graph on first use
+    public SolverResult solveHierarchical(Cell start, Cell end) {
+        dropStaleGraphs();
+        if (hierarchy == null) hierarchy = HierarchicalGraph.build(maze);
+        return SolverResult.measure(hierarchy, () -> hierarchy.solve(start.index(), end.index()));
+    }
 
-        CellDistance(Cell cell, int distance) {
-            this.cell = cell;
-            this.distance = distance;
-        }
+    // Derived graphs are snapshots of the walls: any change since they were built means rebuilding
+    private void dropStaleGraphs() {
+        if (builtForWalls == maze.wallVersion()) return;
+        corridors = null;
+        hierarchy = null;
+        builtForWalls = maze.wallVersion();
     }
 
+    // ================= Incremental (LPA*) =================
+    // Keeps its search tree and follows wall changes made through the Maze mutation API,
+    // so each solve() after an edit only repairs what changed. Call detach() when done.
+    public LpaStarSearch startIncremental(Cell start, Cell end) {
+        return new LpaStarSearch(maze, start.index(), end.index());
+    }
 
+    // Repairs `search` after the wall changes since its last solve, with what the repair cost
+    public SolverResult solveIncremental(LpaStarSearch search) {
+        return SolverResult.measure(search, search::solve);
+    }
 }
-
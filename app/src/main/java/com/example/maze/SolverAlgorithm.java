@@ -0,0 +1,13 @@
+package com.example.maze;
+
+// A named search that Solver, the UI and the benchmarks can pick from SolverRegistry
+public interface SolverAlgorithm {
+
+    String name();
+
+    // True when the paths it returns are always shortest ones
+    boolean isOptimal();
+
+    // New engine over `maze`; engines sharing `scratch` must not run at the same time
+    SearchEngine create(Maze maze, SearchScratch scratch);
+}
@@ -0,0 +1,41 @@
+package com.example.maze;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// What one algorithm costs on one maze, so algorithms can be compared on the
+// same level rather than by reputation.
+public class SolverProfile {
+    public final SolverAlgorithm algorithm;
+    public final SolverStats stats;  // the fastest of the measured runs
+
+    private SolverProfile(SolverAlgorithm algorithm, SolverStats stats) {
+        this.algorithm = algorithm;
+        this.stats = stats;
+    }
+
+    // Solves start -> goal `runs` times on shared scratch and keeps the fastest run
+    public static SolverProfile measure(SolverAlgorithm algorithm, Maze maze, int start, int goal, int runs) {
+        if (runs < 1) throw new IllegalArgumentException("Need at least one run");
+        SearchEngine engine = algorithm.create(maze, new SearchScratch());
+        SolverStats best = null;
+        for (int i = 0; i < runs; i++) {
+            SolverStats stats = SolverResult.run(engine, start, goal).stats;
+            if (best == null || stats.nanos < best.nanos) best = stats;
+        }
+        return new SolverProfile(algorithm, best);
+    }
+
+    public static List<SolverProfile> measureAll(Maze maze, int start, int goal, int runs) {
+        List<SolverProfile> profiles = new ArrayList<>();
+        for (SolverAlgorithm algorithm : SolverRegistry.all()) {
+            profiles.add(measure(algorithm, maze, start, goal, runs));
+        }
+        return profiles;
+    }
+
+    @Override
+    public String toString() {
+        return algorithm.name() + ": " + stats;
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.maze;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+// Runs every registered solver on the same maze and collects what each run cost,
+// so the default algorithm for a level can be chosen from data. The maze is only
+// read during a race; each run gets its own scratch arrays.
+public class SolverRace {
+
+    public static class Result {
+        public final SolverAlgorithm algorithm;
+        public final SolverStats stats;  // nanos is this run alone, preprocessing included
+
+        Result(SolverAlgorithm algorithm, SolverStats stats) {
+            this.algorithm = algorithm;
+            this.stats = stats;
+        }
+
+        @Override
+        public String toString() {
+            return algorithm.name() + ": " + stats;
+        }
+    }
+
+    // Runs every registered algorithm at once on `executor` and completes with them in
+    // the order they finished. Concurrent runs compete for cores, caches and memory
+    // bandwidth, so the order is only for showing the race; timings come from measure().
+    public static CompletableFuture<List<SolverAlgorithm>> race(Maze maze, int start, int goal, Executor executor) {
+        List<SolverAlgorithm> finished = Collections.synchronizedList(new ArrayList<>());
+        List<CompletableFuture<Void>> runs = new ArrayList<>();
+        for (SolverAlgorithm algorithm : SolverRegistry.all()) {
+            runs.add(CompletableFuture.runAsync(() -> {
+                solve(algorithm, maze, start, goal);
+                finished.add(algorithm);
+            }, executor));
+        }
+
+        return CompletableFuture.allOf(runs.toArray(new CompletableFuture<?>[0]))
+                .thenApply(done -> new ArrayList<>(finished));
+    }
+
+    // Times every registered algorithm in isolation, one after another on the calling
+    // thread, and returns one result per algorithm in registry order
+    public static List<Result> measure(Maze maze, int start, int goal) {
+        List<Result> results = new ArrayList<>();
+        for (SolverAlgorithm algorithm : SolverRegistry.all()) {
+            results.add(solve(algorithm, maze, start, goal));
+        }
+        return results;
+    }
+
+    // Fastest run, optionally only among algorithms that guarantee shortest paths
+    public static Result fastest(List<Result> results, boolean optimalOnly) {
+        Result best = null;
+        for (Result result : results) {
+            if (optimalOnly && !result.algorithm.isOptimal()) continue;
+            if (best == null || result.stats.nanos < best.stats.nanos) best = result;
+        }
+        return best;
+    }
+
+    static Result solve(SolverAlgorithm algorithm, Maze maze, int start, int goal) {
+        return new Result(algorithm, SolverResult.run(algorithm, maze, new SearchScratch(), start, goal).stats);
+    }
+}
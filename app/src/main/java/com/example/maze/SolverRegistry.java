@@ -0,0 +1,89 @@
+package com.example.maze;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BiFunction;
+
+// Every solver the app knows about, in display order. The spinner, race mode and
+// SolverProfile enumerate this list, so a new algorithm only has to be registered here.
+public final class SolverRegistry {
+    public static final SolverAlgorithm ASTAR = builtin("A*", true, AStarSearch::new);
+    public static final SolverAlgorithm ASTAR_LANDMARKS = builtin("A* (landmarks)", true,
+            (maze, scratch) -> new AStarSearch(maze, scratch, maze.landmarks()));
+    public static final SolverAlgorithm GREEDY = builtin("Greedy First Search", false, GreedySearch::new);
+    public static final SolverAlgorithm DIJKSTRA = builtin("Dijkstra", true, DijkstraSearch::new);
+    public static final SolverAlgorithm BFS = builtin("Breadth-First Search", true, BreadthFirstSearch::new);
+    public static final SolverAlgorithm DFS = builtin("Depth-First Search", false, DepthFirstSearch::new);
+
+    private static final List<SolverAlgorithm> algorithms = new ArrayList<>();
+
+    static {
+        algorithms.add(ASTAR);
+        algorithms.add(ASTAR_LANDMARKS);
+        algorithms.add(GREEDY);
+        algorithms.add(DIJKSTRA);
+        algorithms.add(BFS);
+        algorithms.add(DFS);
+    }
+
+    private SolverRegistry() {
+    }
+
+    public static synchronized void register(SolverAlgorithm algorithm) {
+        if (find(algorithm.name()) != null) {
+            throw new IllegalArgumentException("Solver already registered: " + algorithm.name());
+        }
+        algorithms.add(algorithm);
+    }
+
+    public static synchronized List<SolverAlgorithm> all() {
+        return Collections.unmodifiableList(new ArrayList<>(algorithms));
+    }
+
+    public static synchronized List<String> names() {
+        List<String> names = new ArrayList<>();
+        for (SolverAlgorithm algorithm : algorithms) {
+            names.add(algorithm.name());
+        }
+        return names;
+    }
+
+    public static synchronized SolverAlgorithm byName(String name) {
+        SolverAlgorithm algorithm = find(name);
+        if (algorithm == null) throw new IllegalArgumentException("Unknown solver: " + name);
+        return algorithm;
+    }
+
+    private static SolverAlgorithm find(String name) {
+        for (SolverAlgorithm algorithm : algorithms) {
+            if (algorithm.name().equals(name)) return algorithm;
+        }
+        return null;
+    }
+
+    private static SolverAlgorithm builtin(String name, boolean optimal,
+                                           BiFunction<Maze, SearchScratch, SearchEngine> factory) {
+        return new SolverAlgorithm() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public boolean isOptimal() {
+                return optimal;
+            }
+
+            @Override
+            public SearchEngine create(Maze maze, SearchScratch scratch) {
+                return factory.apply(maze, scratch);
+            }
+
+            @Override
+            public String toString() {
+                return name;
+            }
+        };
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.maze;
+
+import java.util.function.Supplier;
+
+// A finished one-shot search: the route and what finding it cost
+public class SolverResult {
+    public final int[] path;         // start-to-goal cell indices, empty when unreachable
+    public final SolverStats stats;
+
+    public SolverResult(int[] path, SolverStats stats) {
+        this.path = path;
+        this.stats = stats;
+    }
+
+    // Times `solve` on the calling thread and reads `counters` once it has returned
+    public static SolverResult measure(SearchCounters counters, Supplier<int[]> solve) {
+        SolverStats.Meter meter = new SolverStats.Meter();
+        meter.start();
+        int[] path = solve.get();
+        meter.stop();
+        return new SolverResult(path, meter.stats(counters, path.length - 1));
+    }
+
+    // Runs a stepping engine from start to goal in one go. SolverProfile reuses
+    // one engine across its runs, so this measures the query alone.
+    public static SolverResult run(SearchEngine engine, int start, int goal) {
+        return measure(engine, () -> runToEnd(engine, start, goal));
+    }
+
+    // Creates the engine inside the measured span as well, so preprocessing done at
+    // creation (the landmark BFS passes behind ALT) counts towards nanos. Landmarks
+    // are cached on the maze, so only the first such run on a maze pays for them.
+    // SolverRace and BatchSolver solve through here.
+    public static SolverResult run(SolverAlgorithm algorithm, Maze maze, SearchScratch scratch, int start, int goal) {
+        SolverStats.Meter meter = new SolverStats.Meter();
+        meter.start();
+        SearchEngine engine = algorithm.create(maze, scratch);
+        int[] path = runToEnd(engine, start, goal);
+        meter.stop();
+        return new SolverResult(path, meter.stats(engine, path.length - 1));
+    }
+
+    private static int[] runToEnd(SearchEngine engine, int start, int goal) {
+        engine.reset(start, goal);
+        while (engine.step() >= 0) { }
+        return engine.path();
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.maze;
+
+// A search that only runs as far as its consumer pulls. Cursors on trace()
+// expand the next cell on demand, so the first frame costs one expansion, and
+// cancel() stops the work as soon as nobody wants more of it.
+public class SolverRun implements SearchTrace.Source {
+    private SearchEngine engine;
+    private final SearchTrace trace;
+    private final SolverStats.Meter meter = new SolverStats.Meter();
+
+    public SolverRun(SearchEngine engine, int cells, int start, int goal) {
+        this.engine = engine;
+        trace = new SearchTrace(cells);
+        trace.setSource(this);
+        engine.setListener(trace);
+        engine.reset(start, goal);
+    }
+
+    // Runs up to `steps` more expansions and returns how many actually ran
+    public int advance(int steps) {
+        if (engine == null) return 0;
+        meter.start();
+        int done = 0;
+        while (done < steps && !engine.isFinished()) {
+            if (engine.step() < 0) break;
+            done++;
+        }
+        meter.stop();
+        if (engine.isFinished()) finish();
+        return done;
+    }
+
+    public void runToEnd() {
+        advance(Integer.MAX_VALUE);
+    }
+
+    @Override
+    public boolean pull() {
+        return advance(1) > 0;
+    }
+
+    // Stops the search where it is; the trace keeps what was recorded but has no path
+    public void cancel() {
+        if (engine != null) {
+            engine.setListener(null);
+            engine = null;
+            trace.setSource(null);
+        }
+    }
+
+    public boolean isFinished() {
+        return trace.isFinished();
+    }
+
+    public boolean isCancelled() {
+        return engine == null && !trace.isFinished();
+    }
+
+    public SearchTrace trace() {
+        return trace;
+    }
+
+    // Start-to-goal cell indices once finished; null before that
+    public int[] path() {
+        return trace.path();
+    }
+
+    // Cost of the search so far; final once the run has finished
+    public SolverStats stats() {
+        if (engine == null) return trace.stats();
+        return meter.stats(engine, -1);
+    }
+
+    private void finish() {
+        int[] path = engine.path();
+        trace.finish(path, meter.stats(engine, path.length - 1));
+        engine.setListener(null);
+        engine = null;
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.maze;
+
+import java.util.Locale;
+
+// What one search actually cost. The counters come from the engine; time and
+// allocation are measured around the steps by whoever drove the search
+// (SolverRun, SolverResult), so they include trace recording when there is one.
+public class SolverStats {
+    public static final long UNKNOWN = AllocationCounter.UNKNOWN;
+
+    public final int expanded;         // cells taken off the frontier
+    public final int generated;        // cells reached for the first time
+    public final int pushes;           // frontier inserts (heap, queue or stack)
+    public final int pops;             // frontier removals
+    public final int peakOpen;         // largest frontier during the run
+    public final int pathLength;       // moves from start to goal, -1 if unreachable
+    public final long nanos;           // wall time spent stepping the search
+    public final long allocatedBytes;  // heap allocated by the stepping thread, or UNKNOWN
+
+    public SolverStats(int expanded, int generated, int pushes, int pops, int peakOpen,
+                       int pathLength, long nanos, long allocatedBytes) {
+        this.expanded = expanded;
+        this.generated = generated;
+        this.pushes = pushes;
+        this.pops = pops;
+        this.peakOpen = peakOpen;
+        this.pathLength = pathLength;
+        this.nanos = nanos;
+        this.allocatedBytes = allocatedBytes;
+    }
+
+    // Counters of a finished search plus the measured cost
+    public static SolverStats of(SearchCounters search, int pathLength, long nanos, long allocatedBytes) {
+        return new SolverStats(search.expandedCount(), search.generatedCount(), search.pushCount(),
+                search.popCount(), search.peakOpenCount(), pathLength, nanos, allocatedBytes);
+    }
+
+    // ===================== MEASURING =====================
+    // Wall time and allocation of the calling thread, summed over one or more
+    // start()/stop() spans. The one place a search's cost is measured: SolverRun
+    // spans every advance(), SolverResult a whole one-shot solve.
+    static final class Meter {
+        private long nanos, allocatedBytes;
+        private long begin, allocatedBefore;
+
+        void start() {
+            allocatedBefore = threadAllocatedBytes();  // UNKNOWN where untracked
+            begin = System.nanoTime();
+        }
+
+        void stop() {
+            nanos += System.nanoTime() - begin;
+            if (tracksAllocation()) allocatedBytes += threadAllocatedBytes() - allocatedBefore;
+        }
+
+        SolverStats stats(SearchCounters search, int pathLength) {
+            return of(search, pathLength, nanos, tracksAllocation() ? allocatedBytes : UNKNOWN);
+        }
+    }
+
+    // ===================== ALLOCATION COUNTER =====================
+    // The same per-thread ThreadMXBean counter GeneratorProfile reads; every
+    // reading is UNKNOWN on runtimes without it, such as Android
+    public static boolean tracksAllocation() {
+        return AllocationCounter.tracks();
+    }
+
+    // Bytes allocated so far by the calling thread, or UNKNOWN on runtimes without the counter
+    public static long threadAllocatedBytes() {
+        return AllocationCounter.threadBytes();
+    }
+
+    @Override
+    public String toString() {
+        String allocated = allocatedBytes == UNKNOWN ? "n/a" : (allocatedBytes / 1024) + " KB";
+        return String.format(Locale.ROOT,
+                "%.2f ms, %d expanded, %d generated, %d pushes / %d pops, peak open %d, path %d, allocated %s",
+                nanos / 1e6, expanded, generated, pushes, pops, peakOpen, pathLength, allocated);
+    }
+}
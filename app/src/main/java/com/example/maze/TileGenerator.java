@@ -0,0 +1,17 @@
+package com.example.maze;
+
+import java.util.SplittableRandom;
+
+// A generator that can carve a perfect maze inside one rectangle of the grid,
+// treating the rectangle's edges as outer walls. Tiles never write outside
+// their own cells, so disjoint tiles can be carved on different threads.
+public interface TileGenerator extends MazeGenerator {
+
+    void generate(Maze maze, int top, int left, int height, int width, SplittableRandom rand);
+
+    @Override
+    default void generate(Maze maze, SplittableRandom rand) {
+        generate(maze, 0, 0, maze.rows, maze.cols, rand);
+        maze.wallsChanged();  // tile engines carve through Maze.carveWalls
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.maze;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Splits the grid into square tiles, carves each tile independently on a
+// ForkJoinPool with a TileGenerator, then stitches the tiles together along a
+// random spanning tree of the tile grid, opening one wall per tree edge. Every
+// tile is a perfect maze and the stitching adds exactly one link per tree edge,
+// so the result is still a perfect maze.
+//
+// Each tile gets its own PRNG split off the maze's PRNG in tile order before any
+// work is forked, so the output depends only on the seed, not on thread timing.
+public class TiledGenerator implements MazeGenerator {
+    public static final int DEFAULT_TILE_SIZE = 256;
+
+    private final TileGenerator tileEngine;
+    private final int tileSize;
+    private final ForkJoinPool pool;
+
+    public TiledGenerator(TileGenerator tileEngine) {
+        this(tileEngine, DEFAULT_TILE_SIZE, ForkJoinPool.commonPool());
+    }
+
+    public TiledGenerator(TileGenerator tileEngine, int tileSize, ForkJoinPool pool) {
+        if (tileSize < 1) throw new IllegalArgumentException("tileSize must be positive: " + tileSize);
+        this.tileEngine = tileEngine;
+        this.tileSize = tileSize;
+        this.pool = pool;
+    }
+
+    @Override
+    public void generate(Maze maze, SplittableRandom rand) {
+        int tileRows = (maze.rows + tileSize - 1) / tileSize;
+        int tileCols = (maze.cols + tileSize - 1) / tileSize;
+        int tiles = tileRows * tileCols;
+
+        SplittableRandom[] tileRands = new SplittableRandom[tiles];
+        for (int t = 0; t < tiles; t++) {
+            tileRands[t] = rand.split();
+        }
+
+        pool.invoke(new CarveTiles(maze, tileCols, tileRands, 0, tiles));
+        maze.wallsChanged();  // once for every tile, now that the workers have joined
+        stitch(maze, tileRows, tileCols, rand);
+    }
+
+    private class CarveTiles extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Maze maze;
+        private final int tileCols;
+        private final SplittableRandom[] tileRands;
+        private final int from, to;
+
+        CarveTiles(Maze maze, int tileCols, SplittableRandom[] tileRands, int from, int to) {
+            this.maze = maze;
+            this.tileCols = tileCols;
+            this.tileRands = tileRands;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                int top = (from / tileCols) * tileSize;
+                int left = (from % tileCols) * tileSize;
+                int height = Math.min(tileSize, maze.rows - top);
+                int width = Math.min(tileSize, maze.cols - left);
+                tileEngine.generate(maze, top, left, height, width, tileRands[from]);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new CarveTiles(maze, tileCols, tileRands, from, mid),
+                    new CarveTiles(maze, tileCols, tileRands, mid, to));
+        }
+    }
+
+    // Randomized DFS over the tile grid; each tree edge opens one random wall on the shared border
+    private void stitch(Maze maze, int tileRows, int tileCols, SplittableRandom rand) {
+        int tiles = tileRows * tileCols;
+        boolean[] visited = new boolean[tiles];
+        int[] stack = new int[tiles];
+        int[] neighbors = new int[4];
+        int sp = 0;
+        visited[0] = true;
+        stack[sp++] = 0;
+
+        while (sp > 0) {
+            int current = stack[sp - 1];
+            int tr = current / tileCols, tc = current % tileCols;
+            int count = 0;
+
+            if (tr > 0 && !visited[current - tileCols]) neighbors[count++] = current - tileCols;
+            if (tr < tileRows - 1 && !visited[current + tileCols]) neighbors[count++] = current + tileCols;
+            if (tc > 0 && !visited[current - 1]) neighbors[count++] = current - 1;
+            if (tc < tileCols - 1 && !visited[current + 1]) neighbors[count++] = current + 1;
+
+            if (count == 0) {
+                sp--;
+                continue;
+            }
+
+            int next = neighbors[rand.nextInt(count)];
+            int upper = Math.min(current, next);
+            int ur = (upper / tileCols) * tileSize, uc = (upper % tileCols) * tileSize;
+
+            if (Math.abs(next - current) == tileCols) {
+                // Vertical neighbours: open a wall along the bottom edge of the upper tile
+                int width = Math.min(tileSize, maze.cols - uc);
+                int r = ur + tileSize - 1;
+                int c = uc + rand.nextInt(width);
+                maze.removeWalls(r * maze.cols + c, (r + 1) * maze.cols + c);
+            } else {
+                // Horizontal neighbours: open a wall along the right edge of the left tile
+                int height = Math.min(tileSize, maze.rows - ur);
+                int r = ur + rand.nextInt(height);
+                int c = uc + tileSize - 1;
+                maze.removeWalls(r * maze.cols + c, r * maze.cols + c + 1);
+            }
+
+            visited[next] = true;
+            stack[sp++] = next;
+        }
+    }
+
+    @Override
+    public long scratchBytes(int rows, int cols) {
+        long tiles = (long) ((rows + tileSize - 1) / tileSize) * ((cols + tileSize - 1) / tileSize);
+        int tileRows = Math.min(tileSize, rows), tileCols = Math.min(tileSize, cols);
+        // One tile's scratch per worker, plus a PRNG per tile and the stitching DFS
+        return pool.getParallelism() * tileEngine.scratchBytes(tileRows, tileCols) + tiles * (32 + 5);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.maze;
+
+// Told about every interior wall that goes up or comes down after registration
+// (see Maze.addWallChangeListener). `a` and `b` are the two adjacent cells it separates.
+public interface WallChangeListener {
+    void onWallChanged(int a, int b, boolean blocked);
+}
@@ -0,0 +1,16 @@
+package com.example.maze;
+
+// Backing storage for a maze's per-cell wall nibbles (see Direction.bit()).
+// Maze, the generators and the solvers only go through this interface, so a
+// maze can live in a Java array or in a memory-mapped file.
+public interface WallStore {
+
+    int get(int index);
+
+    void set(int index, int bits);
+
+    int size();
+
+    // Pushes pending writes to durable storage; a no-op for in-memory stores
+    void flush();
+}
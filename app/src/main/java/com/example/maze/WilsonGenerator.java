@@ -0,0 +1,62 @@
+package com.example.maze;
+
+import java.util.SplittableRandom;
+
+// Wilson's algorithm: loop-erased random walks produce a uniform spanning tree,
+// so the maze has no directional bias at all. Early walks can wander for a long
+// time before hitting the tree, which makes it the slowest engine on big grids.
+public class WilsonGenerator implements MazeGenerator {
+
+    @Override
+    public void generate(Maze maze, SplittableRandom rand) {
+        int cells = maze.cellCount();
+        long[] inTree = new long[(cells + 63) >>> 6];
+        // Last direction taken out of each cell during the current walk. Revisiting a
+        // cell overwrites its entry, which is what erases the loop.
+        byte[] exit = new byte[cells];
+        int[] neighbors = new int[4];
+        byte[] neighborDirs = new byte[4];
+
+        int root = rand.nextInt(cells);
+        inTree[root >>> 6] |= 1L << root;
+
+        for (int start = 0; start < cells; start++) {
+            if (isSet(inTree, start)) continue;
+
+            // Random walk until the tree is hit
+            int current = start;
+            while (!isSet(inTree, current)) {
+                int count = 0;
+                for (Direction dir : Direction.ALL) {
+                    int next = maze.neighbor(current, dir);
+                    if (next >= 0) {
+                        neighbors[count] = next;
+                        neighborDirs[count++] = (byte) dir.ordinal();
+                    }
+                }
+                int pick = rand.nextInt(count);
+                exit[current] = neighborDirs[pick];
+                current = neighbors[pick];
+            }
+
+            // Replay the loop-erased path and add it to the tree
+            current = start;
+            while (!isSet(inTree, current)) {
+                inTree[current >>> 6] |= 1L << current;
+                int next = maze.neighbor(current, Direction.ALL[exit[current]]);
+                maze.removeWalls(current, next);
+                current = next;
+            }
+        }
+    }
+
+    private static boolean isSet(long[] bits, int index) {
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    @Override
+    public long scratchBytes(int rows, int cols) {
+        long cells = (long) rows * cols;
+        return cells / 8 + cells;  // tree bitset + walk directions
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.maze;
+
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+public class GeneratorTest {
+
+    private static final int[][] SIZES = {{1, 1}, {1, 17}, {17, 1}, {2, 2}, {11, 11}, {23, 40}};
+
+    // Level 0 adds no loops, so the carved passages must form a spanning tree:
+    // every cell reachable from cell 0 through exactly cellCount - 1 open walls.
+    static void assertSpanningTree(Maze maze) {
+        int n = maze.cellCount();
+        int open = 0;
+        for (int i = 0; i < n; i++) {
+            for (Direction d : Direction.ALL) {
+                int nb = maze.neighbor(i, d);
+                if (nb < 0) continue;
+                assertEquals("Wall " + i + " " + d + " not mirrored",
+                        maze.hasWall(i, d), maze.hasWall(nb, d.opposite()));
+                if (!maze.hasWall(i, d) && nb > i) open++;
+            }
+        }
+        assertEquals("Open interior walls", n - 1, open);
+
+        boolean[] seen = new boolean[n];
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        seen[0] = true;
+        queue.add(0);
+        int reached = 1;
+        int[] out = new int[4];
+        while (!queue.isEmpty()) {
+            int cell = queue.poll();
+            int k = maze.openNeighbors(cell, out);
+            for (int j = 0; j < k; j++) {
+                if (!seen[out[j]]) {
+                    seen[out[j]] = true;
+                    reached++;
+                    queue.add(out[j]);
+                }
+            }
+        }
+        assertEquals("Reachable cells", n, reached);
+    }
+
+    static void assertSameWalls(Maze a, Maze b) {
+        assertEquals(a.cellCount(), b.cellCount());
+        for (int i = 0; i < a.cellCount(); i++) {
+            assertEquals("Cell " + i, a.wallBits(i), b.wallBits(i));
+        }
+    }
+
+    @Test
+    public void everyGenerator_carvesSpanningTree() {
+        for (GeneratorType type : GeneratorType.values()) {
+            for (int[] size : SIZES) {
+                for (long seed = 0; seed < 4; seed++) {
+                    assertSpanningTree(new Maze(size[0], size[1], 0, seed, type));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void sameSeed_sameWallsAndContentHash() {
+        for (GeneratorType type : GeneratorType.values()) {
+            Maze maze = new Maze(31, 29, 4, 77L, type);
+            Maze again = new Maze(31, 29, 4, 77L, type);
+            assertSameWalls(maze, again);
+            assertEquals(type.name(), maze.contentHash(), again.contentHash());
+            assertNotEquals(type.name(), maze.contentHash(), new Maze(31, 29, 4, 78L, type).contentHash());
+        }
+    }
+
+    @Test
+    public void tiledGenerators_smallTilesCarveSpanningTree() {
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            TileGenerator[] engines = {new DfsGenerator(), new PrimGenerator()};
+            for (TileGenerator engine : engines) {
+                for (int tileSize : new int[]{1, 2, 3, 7}) {
+                    TiledGenerator tiled = new TiledGenerator(engine, tileSize, pool);
+                    for (int[] size : SIZES) {
+                        Maze maze = new Maze(size[0], size[1], 0, 5L, GeneratorType.TILED_DFS,
+                                Maze.newWallStore(size[0] * size[1]));
+                        tiled.generate(maze, new SplittableRandom(5L));
+                        assertSpanningTree(maze);
+                    }
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void tiledGenerator_sameSeedSameWallsOnAnyPool() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Maze a = new Maze(40, 37, 0, 9L, GeneratorType.TILED_PRIM, Maze.newWallStore(40 * 37));
+            Maze b = new Maze(40, 37, 0, 9L, GeneratorType.TILED_PRIM, Maze.newWallStore(40 * 37));
+            new TiledGenerator(new PrimGenerator(), 4, pool).generate(a, new SplittableRandom(9L));
+            new TiledGenerator(new PrimGenerator(), 4, ForkJoinPool.commonPool()).generate(b, new SplittableRandom(9L));
+            assertSameWalls(a, b);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static int standingInteriorWalls(Maze maze) {
+        int standing = 0;
+        for (int i = 0; i < maze.cellCount(); i++) {
+            if (maze.neighbor(i, Direction.RIGHT) >= 0 && maze.hasWall(i, Direction.RIGHT)) standing++;
+            if (maze.neighbor(i, Direction.BOTTOM) >= 0 && maze.hasWall(i, Direction.BOTTOM)) standing++;
+        }
+        return standing;
+    }
+
+    @Test
+    public void addLoops_removesExactlyMinOfRequestAndStanding() {
+        int[][] cases = {{1, 1, 3}, {1, 9, 100}, {9, 1, 4}, {6, 6, 0}, {6, 6, 10}, {6, 6, 1000}, {60, 60, 500}};
+        for (int[] c : cases) {
+            Maze maze = new Maze(c[0], c[1], 0, 3L, GeneratorType.PRIM);
+            int before = standingInteriorWalls(maze);
+            int expected = Math.min(c[2], before);
+            assertEquals(expected, maze.addLoops(c[2]));
+            assertEquals(before - expected, standingInteriorWalls(maze));
+        }
+    }
+}
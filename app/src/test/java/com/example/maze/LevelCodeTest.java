@@ -0,0 +1,57 @@
+package com.example.maze;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class LevelCodeTest {
+
+    private static void assertRoundTrip(LevelCode code) {
+        LevelCode parsed = LevelCode.parse(code.toString());
+        assertEquals(code.seed, parsed.seed);
+        assertEquals(code.rows, parsed.rows);
+        assertEquals(code.cols, parsed.cols);
+        assertEquals(code.level, parsed.level);
+        assertEquals(code.generator, parsed.generator);
+    }
+
+    @Test
+    public void roundTrip_sizesWithBase36X() {
+        // 33 is 'x' in base 36; 69 is "1x", 105 is "2x", 1221 is "xx"
+        int[] sizes = {1, 7, 21, 33, 69, 105, 1221, 35, 36};
+        for (int rows : sizes) {
+            for (int cols : sizes) {
+                assertRoundTrip(new LevelCode(0x9a3fL, rows, cols, 3, GeneratorType.PRIM));
+            }
+        }
+    }
+
+    @Test
+    public void roundTrip_everyGeneratorAndExtremeSeeds() {
+        for (GeneratorType generator : GeneratorType.values()) {
+            assertRoundTrip(new LevelCode(-1L, 11, 11, 8, generator));
+            assertRoundTrip(new LevelCode(Long.MIN_VALUE, 11, 13, 1, generator));
+        }
+    }
+
+    @Test
+    public void parse_readsDocumentedExample() {
+        LevelCode code = LevelCode.parse("1.P.3.b-b.ir1");
+        assertEquals(11, code.rows);
+        assertEquals(11, code.cols);
+    }
+
+    @Test
+    public void build_rebuildsSameWalls() {
+        Maze maze = new Maze(33, 69, 2, 42L, GeneratorType.PRIM);
+        Maze copy = Maze.fromLevelCode(maze.levelCode());
+        for (int i = 0; i < maze.cellCount(); i++) {
+            assertEquals("Cell " + i, maze.wallBits(i), copy.wallBits(i));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parse_rejectsGarbage() {
+        LevelCode.parse("1.P.3.b.ir1");
+    }
+}
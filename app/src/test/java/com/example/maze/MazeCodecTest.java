@@ -0,0 +1,62 @@
+package com.example.maze;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+public class MazeCodecTest {
+
+    private static void assertSameWalls(Maze expected, Maze actual) {
+        assertEquals(expected.rows, actual.rows);
+        assertEquals(expected.cols, actual.cols);
+        for (int i = 0; i < expected.cellCount(); i++) {
+            assertEquals("Cell " + i, expected.wallBits(i), actual.wallBits(i));
+        }
+    }
+
+    // Valid magic, version and fields up to the generator byte, with no body after it
+    private static byte[] headerOnly(long rows, long cols) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write('M');
+        out.write('A');
+        out.write('Z');
+        out.write('E');
+        out.write(MazeCodec.VERSION);
+        out.write(0);
+        for (long value : new long[]{rows, cols, 1}) {
+            while ((value & ~0x7FL) != 0) {
+                out.write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            out.write((int) value);
+        }
+        for (int i = 0; i < 8; i++) out.write(0);
+        out.write(GeneratorType.PRIM.code);
+        return out.toByteArray();
+    }
+
+    @Test
+    public void roundTrip_rawAndCompressed() throws IOException {
+        Maze maze = new Maze(37, 53, 4, 11L, GeneratorType.PRIM);
+        assertSameWalls(maze, MazeCodec.fromBytes(MazeCodec.toBytes(maze, false)));
+        assertSameWalls(maze, MazeCodec.fromBytes(MazeCodec.toBytes(maze, true)));
+    }
+
+    @Test
+    public void fromBytes_oversizedHeaderIsAnIOException() {
+        long[][] sizes = {{46340, 46340}, {1, Integer.MAX_VALUE}, {Integer.MAX_VALUE, 1}, {1L << 32, 1L << 32}};
+        for (long[] size : sizes) {
+            assertThrows(IOException.class, () -> MazeCodec.fromBytes(headerOnly(size[0], size[1])));
+        }
+    }
+
+    @Test
+    public void fromBytes_flippedBitFailsTheChecksum() {
+        byte[] data = MazeCodec.toBytes(new Maze(20, 20, 2, 5L, GeneratorType.PRIM), false);
+        data[data.length / 2] ^= 0x10;
+        assertThrows(IOException.class, () -> MazeCodec.fromBytes(data));
+    }
+}
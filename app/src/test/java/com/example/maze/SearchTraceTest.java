@@ -0,0 +1,39 @@
+package com.example.maze;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class SearchTraceTest {
+
+    @Test
+    public void event_roundTripsCellsPastTwoToThe30() {
+        int[] cells = {0, 1, (1 << 30) - 1, 1 << 30, (1 << 30) + 12345, Integer.MAX_VALUE - 1, Integer.MAX_VALUE};
+        for (int cell : cells) {
+            assertEquals(cell, SearchTrace.cellOf(SearchTrace.event(cell, 0)));
+            assertEquals(cell, SearchTrace.cellOf(SearchTrace.event(cell, 1)));
+            assertEquals(1, SearchTrace.event(cell, 1) & 1);
+        }
+    }
+
+    @Test
+    public void heapBudget_refusesMoreThanTheHeap() {
+        long cells = Runtime.getRuntime().maxMemory();  // at 2 bytes a cell, never fits
+        assertThrows(IllegalStateException.class, () -> HeapBudget.require(cells, 2, "Test"));
+        HeapBudget.require(1024, 2, "Test");
+    }
+
+    @Test
+    public void replay_matchesRecordedSearch() {
+        Maze maze = new Maze(25, 25, 3, 9L, GeneratorType.PRIM);
+        SearchTrace trace = new Solver(maze).solveWithAStarAnimated(maze.cell(0, 0), maze.cell(24, 24));
+        SearchTrace.Cursor cursor = trace.cursor();
+        int steps = 0;
+        while (cursor.advance()) steps++;
+        assertEquals(trace.stepCount(), steps);
+        assertEquals(maze.cellCount() - 1, cursor.current());
+
+        cursor.seek(steps / 2);
+        assertEquals(steps / 2, cursor.position());
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.maze;
+
+import org.junit.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.Assert.*;
+
+// Solver keeps graphs built from the walls; after toggleWall they must not answer from the old walls
+public class SolverMutationTest {
+
+    private interface Query {
+        SolverResult solve(Solver solver, Cell start, Cell end);
+    }
+
+    private static void assertShortest(Maze maze, int start, int goal, int[] path) {
+        DistanceField bfs = new DistanceField(maze);
+        bfs.compute(start);
+        int expected = bfs.distance(goal);
+        assertEquals("Moves from " + start + " to " + goal, expected, path.length - 1);
+        if (path.length == 0) return;
+        assertEquals(start, path[0]);
+        assertEquals(goal, path[path.length - 1]);
+        int[] neighbors = new int[4];
+        for (int i = 1; i < path.length; i++) {
+            int count = maze.openNeighbors(path[i - 1], neighbors);
+            boolean open = false;
+            for (int j = 0; j < count; j++) open |= neighbors[j] == path[i];
+            assertTrue("Step " + path[i - 1] + " -> " + path[i] + " goes through a wall", open);
+        }
+    }
+
+    private static void toggleRandomWall(Maze maze, SplittableRandom rand) {
+        if (rand.nextBoolean()) {
+            maze.toggleWall(rand.nextInt(maze.rows), rand.nextInt(maze.cols - 1), Direction.RIGHT);
+        } else {
+            maze.toggleWall(rand.nextInt(maze.rows - 1), rand.nextInt(maze.cols), Direction.BOTTOM);
+        }
+    }
+
+    private static void checkAfterToggles(Query query) {
+        SplittableRandom rand = new SplittableRandom(42);
+        for (long seed = 1; seed <= 4; seed++) {
+            Maze maze = new Maze(70, 70, 1, seed, GeneratorType.PRIM);
+            Solver solver = new Solver(maze);
+            for (int round = 0; round < 50; round++) {
+                int start = rand.nextInt(maze.cellCount());
+                int goal = rand.nextInt(maze.cellCount());
+                SolverResult result = query.solve(solver, maze.cellAt(start), maze.cellAt(goal));
+                assertShortest(maze, start, goal, result.path);
+                assertEquals(result.path.length - 1, result.stats.pathLength);
+                if (result.path.length > 1) assertTrue(result.stats.expanded > 0);
+                for (int i = rand.nextInt(1, 4); i > 0; i--) toggleRandomWall(maze, rand);
+            }
+        }
+    }
+
+    @Test
+    public void solveContracted_followsWallChanges() {
+        checkAfterToggles(Solver::solveContracted);
+    }
+
+    @Test
+    public void solveHierarchical_followsWallChanges() {
+        checkAfterToggles(Solver::solveHierarchical);
+    }
+
+    @Test
+    public void solveBidirectional_reportsStats() {
+        checkAfterToggles(Solver::solveBidirectional);
+    }
+
+    @Test
+    public void solveIncremental_followsWallChanges() {
+        SplittableRandom rand = new SplittableRandom(7);
+        Maze maze = new Maze(40, 40, 1, 3L, GeneratorType.PRIM);
+        Solver solver = new Solver(maze);
+        LpaStarSearch search = solver.startIncremental(maze.cellAt(0), maze.cellAt(maze.cellCount() - 1));
+        for (int round = 0; round < 40; round++) {
+            SolverResult result = solver.solveIncremental(search);
+            assertShortest(maze, 0, maze.cellCount() - 1, result.path);
+            assertEquals(result.path.length - 1, result.stats.pathLength);
+            assertTrue(result.stats.pops <= result.stats.generated);
+            toggleRandomWall(maze, rand);
+        }
+        search.detach();
+    }
+
+    @Test
+    public void wallVersion_changesOnToggle() {
+        Maze maze = new Maze(9, 9, 1, 7L, GeneratorType.PRIM);
+        int before = maze.wallVersion();
+        maze.toggleWall(4, 4, Direction.RIGHT);
+        assertNotEquals(before, maze.wallVersion());
+    }
+}
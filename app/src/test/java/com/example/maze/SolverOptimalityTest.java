@@ -0,0 +1,181 @@
+package com.example.maze;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.Assert.*;
+
+// Every solver that promises a shortest path must match the DistanceField's
+// breadth-first distance, on braided mazes with many equal-length alternatives
+// and on pairs that cannot reach each other at all (empty path expected).
+public class SolverOptimalityTest {
+
+    interface PathFinder {
+        int[] path(Maze maze, int start, int goal);
+    }
+
+    private static final class Named {
+        final String name;
+        final PathFinder finder;
+
+        Named(String name, PathFinder finder) {
+            this.name = name;
+            this.finder = finder;
+        }
+    }
+
+    // Every registered optimal algorithm, each with one scratch reused across its solves
+    private static List<Named> solvers() {
+        List<Named> solvers = new ArrayList<>();
+        for (SolverAlgorithm algorithm : SolverRegistry.all()) {
+            if (!algorithm.isOptimal()) continue;
+            SearchScratch scratch = new SearchScratch();
+            solvers.add(new Named(algorithm.name(), (maze, start, goal) -> {
+                SearchEngine search = algorithm.create(maze, scratch);
+                search.reset(start, goal);
+                while (search.step() >= 0) { }
+                return search.path();
+            }));
+        }
+        solvers.add(new Named("Bidirectional BFS", new PathFinder() {
+            private BidirectionalSearch search;
+
+            @Override
+            public int[] path(Maze maze, int start, int goal) {
+                if (search == null) search = new BidirectionalSearch(maze);
+                return search.solve(start, goal);
+            }
+        }));
+        solvers.add(new Named("Corridor graph", new PathFinder() {
+            private CorridorGraph graph;
+
+            @Override
+            public int[] path(Maze maze, int start, int goal) {
+                if (graph == null) graph = CorridorGraph.build(maze);
+                return graph.solve(start, goal);
+            }
+        }));
+        solvers.add(new Named("LPA*", (maze, start, goal) -> {
+            LpaStarSearch search = new LpaStarSearch(maze, start, goal);
+            try {
+                return search.solve();
+            } finally {
+                search.detach();
+            }
+        }));
+        solvers.add(new Named("Hierarchical", new PathFinder() {
+            private HierarchicalGraph graph;
+
+            @Override
+            public int[] path(Maze maze, int start, int goal) {
+                if (graph == null) graph = HierarchicalGraph.build(maze, 4);
+                return graph.solve(start, goal);
+            }
+        }));
+        return solvers;
+    }
+
+    private static void assertShortest(String label, Maze maze, int start, int goal, int[] path) {
+        DistanceField field = new DistanceField(maze);
+        field.compute(start);
+        int expected = field.distance(goal);
+        if (expected == DistanceField.UNREACHABLE) {
+            assertEquals(label + " found a path between disconnected cells", 0, path.length);
+            return;
+        }
+        assertEquals(label + " length", expected, path.length - 1);
+        assertEquals(label + " start", start, path[0]);
+        assertEquals(label + " goal", goal, path[path.length - 1]);
+        int[] out = new int[4];
+        for (int i = 1; i < path.length; i++) {
+            int k = maze.openNeighbors(path[i - 1], out);
+            boolean open = false;
+            for (int j = 0; j < k; j++) open |= out[j] == path[i];
+            assertTrue(label + " steps through a wall at " + i, open);
+        }
+    }
+
+    // Walls a cell off from all its neighbours
+    private static void isolate(Maze maze, int cell) {
+        for (Direction d : Direction.ALL) {
+            int nb = maze.neighbor(cell, d);
+            if (nb >= 0) maze.addWalls(cell, nb);
+        }
+    }
+
+    private static void checkAll(Maze maze, SplittableRandom rand, String what) {
+        int n = maze.cellCount();
+        int[][] pairs = new int[8][];
+        pairs[0] = new int[]{0, n - 1};
+        pairs[1] = new int[]{n - 1, 0};
+        pairs[2] = new int[]{0, 0};
+        for (int i = 3; i < pairs.length; i++) pairs[i] = new int[]{rand.nextInt(n), rand.nextInt(n)};
+        for (Named solver : solvers()) {
+            for (int[] pair : pairs) {
+                String label = solver.name + " on " + what + " " + pair[0] + "->" + pair[1];
+                assertShortest(label, maze, pair[0], pair[1], solver.finder.path(maze, pair[0], pair[1]));
+            }
+        }
+    }
+
+    @Test
+    public void braidedMazes_matchBreadthFirstDistance() {
+        int[][] sizes = {{1, 1}, {1, 30}, {30, 1}, {12, 12}, {25, 40}};
+        for (int[] size : sizes) {
+            for (long seed = 0; seed < 6; seed++) {
+                Maze maze = new Maze(size[0], size[1], 0, seed, GeneratorType.PRIM);
+                maze.addLoops(size[0] * size[1] / 3);
+                checkAll(maze, new SplittableRandom(seed), size[0] + "x" + size[1] + " seed " + seed);
+            }
+        }
+    }
+
+    @Test
+    public void disconnectedPairs_giveEmptyPath() {
+        for (long seed = 0; seed < 6; seed++) {
+            Maze maze = new Maze(15, 17, 0, seed, GeneratorType.DFS);
+            maze.addLoops(60);
+            SplittableRandom rand = new SplittableRandom(seed);
+            int walled = rand.nextInt(maze.cellCount());
+            isolate(maze, walled);
+            for (Named solver : solvers()) {
+                int other = (walled + 1 + rand.nextInt(maze.cellCount() - 1)) % maze.cellCount();
+                assertEquals(solver.name, 0, solver.finder.path(maze, other, walled).length);
+                assertEquals(solver.name, 0, solver.finder.path(maze, walled, other).length);
+            }
+            checkAll(maze, rand, "seed " + seed + " with " + walled + " walled off");
+        }
+    }
+
+    @Test
+    public void batchSolver_matchesDistanceField() {
+        List<BatchSolver.Job> jobs = new ArrayList<>();
+        for (long seed = 0; seed < 6; seed++) {
+            Maze maze = new Maze(20, 23, 0, seed, GeneratorType.KRUSKAL);
+            maze.addLoops(80);
+            SplittableRandom rand = new SplittableRandom(seed);
+            isolate(maze, rand.nextInt(maze.cellCount()));
+            for (SolverAlgorithm algorithm : SolverRegistry.all()) {
+                if (!algorithm.isOptimal()) continue;
+                for (int i = 0; i < 10; i++) {
+                    jobs.add(new BatchSolver.Job(maze, rand.nextInt(maze.cellCount()),
+                            rand.nextInt(maze.cellCount()), algorithm));
+                }
+            }
+        }
+
+        int[] seen = new int[1];
+        try (BatchSolver batch = new BatchSolver(3, 4, true)) {
+            batch.solve(jobs).forEach(result -> {
+                BatchSolver.Job job = result.job;
+                assertShortest("Batch " + job.algorithm.name() + " " + job.start + "->" + job.goal,
+                        job.maze, job.start, job.goal, result.path);
+                seen[0]++;
+            });
+        }
+        assertEquals(jobs.size(), seen[0]);
+    }
+}